@@ -0,0 +1,242 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (or directories of them) and reports every benchmark
+ * whose score got worse by more than the threshold.
+ * <p>
+ * Usage: {@code java benchmarks/CompareResults.java <baseline> <current> [threshold-percent]}
+ * <p>
+ * A change only counts as a regression if the 99.9% confidence intervals that JMH reports for
+ * the two scores do not overlap as well, so noisy benchmarks are not flagged on their score
+ * alone. Changes above the threshold whose intervals overlap are reported as noise. Results
+ * without an interval (a single measurement iteration) are compared by score only.
+ * <p>
+ * Exits with status 1 when at least one regression is found, so it can be used as a build gate.
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java CompareResults.java <baseline> <current> [threshold-percent]");
+            System.exit(2);
+        }
+
+        Map<String, Result> baseline = load(Path.of(args[0]));
+        Map<String, Result> current = load(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        int noisy = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.score, "new");
+                continue;
+            }
+
+            double change = (now.score - before.score) / before.score * 100;
+            boolean worse = now.higherIsBetter() ? change < -threshold : change > threshold;
+            String verdict = "";
+            if (worse && now.separatedFrom(before)) {
+                regressions++;
+                verdict = "  REGRESSION";
+            } else if (worse) {
+                noisy++;
+                verdict = "  noise (intervals overlap)";
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.score, now.score,
+                    change, verdict);
+        }
+
+        System.out.println();
+        System.out.println(regressions == 0
+                ? "No regressions above " + threshold + "%"
+                : regressions + " regression(s) above " + threshold + "%");
+        if (noisy > 0) {
+            System.out.println(noisy + " change(s) above " + threshold + "% within the confidence intervals;"
+                    + " rerun with more forks or iterations to decide them");
+        }
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Result> load(Path path) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (var stream = Files.list(path)) {
+                stream.filter(file -> file.toString().endsWith(".json")).sorted().forEach(files::add);
+            }
+        } else {
+            files.add(path);
+        }
+
+        Map<String, Result> results = new TreeMap<>();
+        for (Path file : files) {
+            for (Object item : (List<?>) new JsonParser(Files.readString(file)).parse()) {
+                Map<?, ?> run = (Map<?, ?>) item;
+                Map<?, ?> metric = (Map<?, ?>) run.get("primaryMetric");
+                Map<?, ?> params = run.get("params") == null ? Map.of() : (Map<?, ?>) run.get("params");
+                String key = run.get("benchmark") + (params.isEmpty() ? "" : " " + new TreeMap<>(params));
+                List<?> confidence = (List<?>) metric.get("scoreConfidence");
+                results.put(key, new Result((String) run.get("mode"), toDouble(metric.get("score")),
+                        toDouble(confidence.get(0)), toDouble(confidence.get(1))));
+            }
+        }
+        return results;
+    }
+
+    // JMH writes non-finite scores as strings, e.g. "NaN".
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.parseDouble(String.valueOf(value));
+    }
+
+    private record Result(String mode, double score, double lower, double upper) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        // JMH reports NaN bounds when the interval cannot be computed.
+        boolean separatedFrom(Result other) {
+            if (Double.isNaN(lower) || Double.isNaN(upper) || Double.isNaN(other.lower) || Double.isNaN(other.upper)) {
+                return true;
+            }
+            return lower > other.upper || upper < other.lower;
+        }
+    }
+
+    /** Minimal JSON reader for the structure JMH writes: objects, arrays, strings, numbers and literals. */
+    private static final class JsonParser {
+        private final String text;
+        private int position;
+
+        JsonParser(String text) {
+            this.text = text;
+        }
+
+        Object parse() {
+            skipWhitespace();
+            char c = text.charAt(position);
+            if (c == '{') {
+                return parseObject();
+            } else if (c == '[') {
+                return parseArray();
+            } else if (c == '"') {
+                return parseString();
+            } else if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            } else if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            } else if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            return parseNumber();
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            position++;
+            skipWhitespace();
+            if (text.charAt(position) == '}') {
+                position++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                object.put(key, parse());
+                skipWhitespace();
+                if (text.charAt(position) == ',') {
+                    position++;
+                } else {
+                    expect('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> parseArray() {
+            List<Object> array = new ArrayList<>();
+            position++;
+            skipWhitespace();
+            if (text.charAt(position) == ']') {
+                position++;
+                return array;
+            }
+            while (true) {
+                array.add(parse());
+                skipWhitespace();
+                if (text.charAt(position) == ',') {
+                    position++;
+                } else {
+                    expect(']');
+                    return array;
+                }
+            }
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (text.charAt(position) != '"') {
+                char c = text.charAt(position++);
+                if (c == '\\') {
+                    char escaped = text.charAt(position++);
+                    switch (escaped) {
+                        case 'n' -> value.append('\n');
+                        case 't' -> value.append('\t');
+                        case 'r' -> value.append('\r');
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'u' -> {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                            position += 4;
+                        }
+                        default -> value.append(escaped);
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            position++;
+            return value.toString();
+        }
+
+        private Object parseNumber() {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            String number = text.substring(start, position);
+            if (number.isEmpty()) {
+                throw new IllegalArgumentException("Unexpected character at " + position + ": " + text.charAt(position));
+            }
+            return Double.parseDouble(number);
+        }
+
+        private void expect(char expected) {
+            if (text.charAt(position) != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at " + position);
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package bench.common;
+
+import java.util.SplittableRandom;
+
+/**
+ * Builds reproducible English-like text: words of two to ten letters,
+ * sentences of five to twenty words with occasional commas. Used by the text benchmarks of labs 2 and 4,
+ * so both parse the same input.
+ */
+public final class TextGenerator {
+    private static final String LETTERS = "etaoinshrdlcumwfgypbvkjxqz";
+
+    private TextGenerator() {
+    }
+
+    public static String generate(int words, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder text = new StringBuilder(words * 7);
+        int sentenceLength = 0;
+        int sentenceTarget = random.nextInt(5, 21);
+        for (int i = 0; i < words; i++) {
+            if (sentenceLength > 0) {
+                text.append(' ');
+            }
+            int length = random.nextInt(2, 11);
+            for (int j = 0; j < length; j++) {
+                char c = LETTERS.charAt((int) (LETTERS.length() * Math.pow(random.nextDouble(), 2)));
+                text.append(j == 0 && sentenceLength == 0 ? Character.toUpperCase(c) : c);
+            }
+            if (++sentenceLength == sentenceTarget || i == words - 1) {
+                text.append('.');
+                sentenceLength = 0;
+                sentenceTarget = random.nextInt(5, 21);
+            } else if (random.nextInt(8) == 0) {
+                text.append(',');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package bench.common;
+
+/**
+ * Creates the adapters that connect the benchmarks to the lab code.
+ * <p>
+ * The lab classes live in the unnamed package, which cannot be imported, so every workload
+ * interface {@code bench.labN.XWorkload} is implemented by a class {@code XWorkloadImpl} in the
+ * unnamed package that is only reachable by name.
+ */
+public final class Workloads {
+
+    private Workloads() {
+    }
+
+    /**
+     * Instantiates the implementation of a workload interface.
+     *
+     * @param type the workload interface
+     * @param <T>  the type of the workload
+     * @return a new instance of the class named after the interface with the suffix {@code Impl}
+     * @throws IllegalStateException if the class is missing or cannot be instantiated
+     */
+    public static <T> T create(Class<T> type) {
+        String name = type.getSimpleName() + "Impl";
+        try {
+            return type.cast(Class.forName(name).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException(name + " is missing from the benchmark classpath or does not implement "
+                    + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+import bench.lab1.MatrixWorkload;
+
+import java.util.SplittableRandom;
+
+public class MatrixWorkloadImpl implements MatrixWorkload {
+    private long[][] matrix;
+
+    @Override
+    public void setUp(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        matrix = new long[size][size];
+        for (long[] row : matrix) {
+            for (int j = 0; j < size; j++) {
+                row[j] = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+            }
+        }
+    }
+
+    @Override
+    public Object transposeMatrix() {
+        return Main.transposeMatrix(matrix);
+    }
+
+    @Override
+    public long calculateSumOfMinElements() {
+        return Main.calculateSumOfMinElements(matrix);
+    }
+
+    @Override
+    public long calculateSumOfMinElementsScalar() {
+        return Main.calculateSumOfMinElementsScalar(matrix);
+    }
+
+    @Override
+    public long calculateSumOfMinElementsScalarRowMajor() {
+        long sum = 0;
+        for (long min : Main.scalarColumnMins(matrix, 0, matrix[0].length)) {
+            sum += min;
+        }
+        return sum;
+    }
+
+    @Override
+    public Object calculateSumOfMinElements(String accumulationMode) {
+        return Main.calculateSumOfMinElements(matrix, AccumulationMode.valueOf(accumulationMode));
+    }
+}
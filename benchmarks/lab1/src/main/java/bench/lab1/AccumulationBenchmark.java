@@ -0,0 +1,43 @@
+package bench.lab1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AccumulationBenchmark {
+
+    @Param({"512", "2048"})
+    private int size;
+
+    @Param({"WRAPPING", "CHECKED", "WIDE", "PARALLEL"})
+    private String mode;
+
+    private MatrixWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = MatrixWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    @Benchmark
+    public Object calculateSumOfMinElements() {
+        return workload.calculateSumOfMinElements(mode);
+    }
+}
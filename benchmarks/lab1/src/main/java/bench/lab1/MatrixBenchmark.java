@@ -0,0 +1,63 @@
+package bench.lab1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix kernels of lab1.
+ * <p>
+ * {@link #calculateSumOfMinElements()} uses the vector kernel where it is profitable. It walks the
+ * matrix row by row, like {@link #calculateSumOfMinElementsScalarRowMajor()}, so the two differ
+ * only by SIMD. {@link #calculateSumOfMinElementsScalar()} walks column by column, and its
+ * difference from the row-major loop is the cost of that access order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MatrixBenchmark {
+
+    @Param({"64", "512", "2048"})
+    private int size;
+
+    private MatrixWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = MatrixWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    @Benchmark
+    public Object transposeMatrix() {
+        return workload.transposeMatrix();
+    }
+
+    @Benchmark
+    public long calculateSumOfMinElements() {
+        return workload.calculateSumOfMinElements();
+    }
+
+    @Benchmark
+    public long calculateSumOfMinElementsScalar() {
+        return workload.calculateSumOfMinElementsScalar();
+    }
+
+    @Benchmark
+    public long calculateSumOfMinElementsScalarRowMajor() {
+        return workload.calculateSumOfMinElementsScalarRowMajor();
+    }
+}
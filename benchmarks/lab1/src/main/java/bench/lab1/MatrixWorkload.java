@@ -0,0 +1,28 @@
+package bench.lab1;
+
+import bench.common.Workloads;
+
+/**
+ * Operations of lab1 exercised by the benchmarks.
+ * <p>
+ * The lab classes live in the unnamed package and cannot be imported from here,
+ * so they are reached through {@code MatrixWorkloadImpl} in the unnamed package.
+ */
+public interface MatrixWorkload {
+
+    static MatrixWorkload create() {
+        return Workloads.create(MatrixWorkload.class);
+    }
+
+    void setUp(int size, long seed);
+
+    Object transposeMatrix();
+
+    long calculateSumOfMinElements();
+
+    long calculateSumOfMinElementsScalar();
+
+    long calculateSumOfMinElementsScalarRowMajor();
+
+    Object calculateSumOfMinElements(String accumulationMode);
+}
@@ -0,0 +1,15 @@
+import bench.lab2.VowelSortWorkload;
+
+public class VowelSortWorkloadImpl implements VowelSortWorkload {
+    private StringBuffer text;
+
+    @Override
+    public void setUp(String text) {
+        this.text = new StringBuffer(text);
+    }
+
+    @Override
+    public Object sortWordsByVowelCount() {
+        return Main.sortWordsByVowelCount(text);
+    }
+}
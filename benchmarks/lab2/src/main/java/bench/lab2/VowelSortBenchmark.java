@@ -0,0 +1,41 @@
+package bench.lab2;
+
+import bench.common.TextGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VowelSortBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int words;
+
+    private VowelSortWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = VowelSortWorkload.create();
+        workload.setUp(TextGenerator.generate(words, 42));
+    }
+
+    @Benchmark
+    public Object sortWordsByVowelCount() {
+        return workload.sortWordsByVowelCount();
+    }
+}
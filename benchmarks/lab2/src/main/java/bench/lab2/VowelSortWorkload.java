@@ -0,0 +1,18 @@
+package bench.lab2;
+
+import bench.common.Workloads;
+
+/**
+ * Operations of lab2 exercised by the benchmarks, reached through
+ * {@code VowelSortWorkloadImpl} in the unnamed package.
+ */
+public interface VowelSortWorkload {
+
+    static VowelSortWorkload create() {
+        return Workloads.create(VowelSortWorkload.class);
+    }
+
+    void setUp(String text);
+
+    Object sortWordsByVowelCount();
+}
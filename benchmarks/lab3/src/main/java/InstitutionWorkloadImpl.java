@@ -0,0 +1,86 @@
+import bench.lab3.InstitutionWorkload;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+public class InstitutionWorkloadImpl implements InstitutionWorkload {
+    private static final Comparator<EducationalInstitution> COMPARATOR = (i1, i2) -> {
+        int yearComparison = Integer.compare(i1.getEstablishedYear(), i2.getEstablishedYear());
+        if (yearComparison == 0) {
+            return Integer.compare(i2.getStudentCount(), i1.getStudentCount());
+        }
+        return yearComparison;
+    };
+
+    private EducationalInstitution[] institutions;
+    private InstitutionRegistry registry;
+    private EducationalInstitution[] targets;
+    private int next;
+
+    @Override
+    public void setUp(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        institutions = generate(size, random);
+        registry = new InstitutionRegistry(institutions);
+
+        targets = new EducationalInstitution[1024];
+        for (int i = 0; i < targets.length; i++) {
+            EducationalInstitution source = institutions[random.nextInt(size)];
+            targets[i] = new EducationalInstitution(source.getName(), source.getCity(),
+                    source.getEstablishedYear(), source.getStudentCount(), source.getRating());
+        }
+    }
+
+    @Override
+    public void setUpInstitutions(int size, long seed) {
+        institutions = generate(size, new SplittableRandom(seed));
+    }
+
+    private static EducationalInstitution[] generate(int size, SplittableRandom random) {
+        EducationalInstitution[] generated = new EducationalInstitution[size];
+        for (int i = 0; i < size; i++) {
+            generated[i] = new EducationalInstitution("Institution " + i, "City " + random.nextInt(200),
+                    random.nextInt(1800, 2025), random.nextInt(100, 60000), random.nextInt(10, 51) / 10.0);
+        }
+        return generated;
+    }
+
+    @Override
+    public Object sortWithComparator() {
+        EducationalInstitution[] copy = institutions.clone();
+        Arrays.sort(copy, COMPARATOR);
+        return copy;
+    }
+
+    @Override
+    public Object sortWithPackedKeys() {
+        EducationalInstitution[] copy = institutions.clone();
+        Main.BY_YEAR_THEN_STUDENT_COUNT_DESC.sort(copy);
+        return copy;
+    }
+
+    @Override
+    public int indexOfLinearScan() {
+        return Arrays.asList(institutions).indexOf(nextTarget());
+    }
+
+    @Override
+    public int indexOfRegistry() {
+        return registry.indexOf(nextTarget());
+    }
+
+    @Override
+    public Object aggregateByCity(boolean parallel) {
+        return InstitutionAggregator.aggregateByCity(institutions, parallel);
+    }
+
+    @Override
+    public Object aggregateByDecade(boolean parallel) {
+        return InstitutionAggregator.aggregateByYearBucket(institutions, 10, parallel);
+    }
+
+    private EducationalInstitution nextTarget() {
+        return targets[next++ & (targets.length - 1)];
+    }
+}
@@ -0,0 +1,61 @@
+package bench.lab3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouped aggregation of {@code InstitutionAggregator} at sizes where the chunked parallel path
+ * has work to split. The largest size is bounded by the heap: each institution takes about
+ * 100 bytes with its name, so 10M rows fit in the 4 GB fork, while 100M would not. The time
+ * per row grows with the size, so the 10M row is a lower bound for larger inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InstitutionAggregationBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private InstitutionWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = InstitutionWorkload.create();
+        workload.setUpInstitutions(size, 42);
+    }
+
+    @Benchmark
+    public Object aggregateByCity() {
+        return workload.aggregateByCity(false);
+    }
+
+    @Benchmark
+    public Object aggregateByCityParallel() {
+        return workload.aggregateByCity(true);
+    }
+
+    @Benchmark
+    public Object aggregateByDecade() {
+        return workload.aggregateByDecade(false);
+    }
+
+    @Benchmark
+    public Object aggregateByDecadeParallel() {
+        return workload.aggregateByDecade(true);
+    }
+}
@@ -0,0 +1,55 @@
+package bench.lab3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InstitutionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private InstitutionWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = InstitutionWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    @Benchmark
+    public Object sortWithComparator() {
+        return workload.sortWithComparator();
+    }
+
+    @Benchmark
+    public Object sortWithPackedKeys() {
+        return workload.sortWithPackedKeys();
+    }
+
+    @Benchmark
+    public int indexOfLinearScan() {
+        return workload.indexOfLinearScan();
+    }
+
+    @Benchmark
+    public int indexOfRegistry() {
+        return workload.indexOfRegistry();
+    }
+}
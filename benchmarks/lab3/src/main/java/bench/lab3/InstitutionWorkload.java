@@ -0,0 +1,35 @@
+package bench.lab3;
+
+import bench.common.Workloads;
+
+/**
+ * Operations of lab3 exercised by the benchmarks, reached through
+ * {@code InstitutionWorkloadImpl} in the unnamed package.
+ */
+public interface InstitutionWorkload {
+
+    static InstitutionWorkload create() {
+        return Workloads.create(InstitutionWorkload.class);
+    }
+
+    void setUp(int size, long seed);
+
+    /** Generates the institutions only, without the registry and lookup targets of {@link #setUp}. */
+    void setUpInstitutions(int size, long seed);
+
+    /** Sorts a copy of the data with the comparator originally used in {@code Main}. */
+    Object sortWithComparator();
+
+    /** Sorts a copy of the data with {@code PackedKeySorter}. */
+    Object sortWithPackedKeys();
+
+    int indexOfLinearScan();
+
+    int indexOfRegistry();
+
+    /** Groups the institutions by city with {@code InstitutionAggregator}. */
+    Object aggregateByCity(boolean parallel);
+
+    /** Groups the institutions into decades of foundation with {@code InstitutionAggregator}. */
+    Object aggregateByDecade(boolean parallel);
+}
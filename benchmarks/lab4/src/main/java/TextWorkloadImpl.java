@@ -0,0 +1,46 @@
+import bench.lab4.TextWorkload;
+
+public class TextWorkloadImpl implements TextWorkload {
+    private String input;
+    private Text parsed;
+    private TextAnalysisCache cache;
+
+    @Override
+    public void setUp(String text) {
+        input = text;
+        parsed = new Text(text);
+        cache = new TextAnalysisCache(Math.max(1, text.length()));
+        cache.sortWordsByVowelCount(text);
+    }
+
+    @Override
+    public Object parseText() {
+        return new Text(input);
+    }
+
+    @Override
+    public Object lazyParseText() {
+        return Text.lazy(input).getSentenceCount();
+    }
+
+    @Override
+    public Object lazyParseFirstSentence() {
+        return Text.lazy(input).getSentence(0).getElements();
+    }
+
+    @Override
+    public Object sortWordsByVowelCount() {
+        return parsed.sortWordsByVowelCount();
+    }
+
+    @Override
+    public Object parseAndSortWordsByVowelCount() {
+        return new Text(input).sortWordsByVowelCount();
+    }
+
+    @Override
+    public Object cachedSortWordsByVowelCount() {
+        // a new String instance per call, as a request read from a socket would be
+        return cache.sortWordsByVowelCount(new String(input));
+    }
+}
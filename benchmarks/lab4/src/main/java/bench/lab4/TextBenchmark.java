@@ -0,0 +1,76 @@
+package bench.lab4;
+
+import bench.common.TextGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int words;
+
+    private TextWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = TextWorkload.create();
+        workload.setUp(TextGenerator.generate(words, 42));
+    }
+
+    @Benchmark
+    public Object parseText() {
+        return workload.parseText();
+    }
+
+    /** Same as {@link #parseText()} with metrics recording turned on, to show its cost. */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dmetrics.enabled=true")
+    public Object parseTextWithMetricsEnabled() {
+        return workload.parseText();
+    }
+
+    /** Sentence count of a lazily parsed text: only sentence boundaries are located. */
+    @Benchmark
+    public Object lazyParseText() {
+        return workload.lazyParseText();
+    }
+
+    /** First sentence of a lazily parsed text: boundaries plus one materialized sentence. */
+    @Benchmark
+    public Object lazyParseFirstSentence() {
+        return workload.lazyParseFirstSentence();
+    }
+
+    @Benchmark
+    public Object sortWordsByVowelCount() {
+        return workload.sortWordsByVowelCount();
+    }
+
+    @Benchmark
+    public Object parseAndSortWordsByVowelCount() {
+        return workload.parseAndSortWordsByVowelCount();
+    }
+
+    /** A repeated document served from {@code TextAnalysisCache}: hashing and comparing it instead of parsing. */
+    @Benchmark
+    public Object cachedSortWordsByVowelCount() {
+        return workload.cachedSortWordsByVowelCount();
+    }
+}
@@ -0,0 +1,28 @@
+package bench.lab4;
+
+import bench.common.Workloads;
+
+/**
+ * Operations of lab4 exercised by the benchmarks, reached through
+ * {@code TextWorkloadImpl} in the unnamed package.
+ */
+public interface TextWorkload {
+
+    static TextWorkload create() {
+        return Workloads.create(TextWorkload.class);
+    }
+
+    void setUp(String text);
+
+    Object parseText();
+
+    Object lazyParseText();
+
+    Object lazyParseFirstSentence();
+
+    Object sortWordsByVowelCount();
+
+    Object parseAndSortWordsByVowelCount();
+
+    Object cachedSortWordsByVowelCount();
+}
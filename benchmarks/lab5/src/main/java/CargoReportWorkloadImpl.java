@@ -0,0 +1,44 @@
+import bench.lab5.CargoReportWorkload;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CargoReportWorkloadImpl implements CargoReportWorkload {
+    private Coffee[] coffees;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile CoffeeVan van;
+
+    @Override
+    public void setUp(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        coffees = new Coffee[size];
+        for (int i = 0; i < size; i++) {
+            coffees[i] = new CoffeeBeans("Coffee " + i, random.nextDouble(5, 60), random.nextDouble(1, 10),
+                    random.nextDouble(0.2, 1.0));
+        }
+        van = new CoffeeVan(Double.MAX_VALUE);
+    }
+
+    @Override
+    public void load() {
+        int index = next.getAndIncrement() % coffees.length;
+        if (index == 0) {
+            van = new CoffeeVan(Double.MAX_VALUE);
+        }
+        van.addCargo(coffees[index], 1);
+    }
+
+    @Override
+    public void sort() {
+        van.sortCargoByPriceToWeight();
+    }
+
+    @Override
+    public double report() {
+        double total = 0;
+        for (Coffee coffee : van.snapshot().getCargo()) {
+            total += coffee.getPricePerKg();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,58 @@
+import bench.lab5.CoffeeVanWorkload;
+
+import java.util.SplittableRandom;
+
+public class CoffeeVanWorkloadImpl implements CoffeeVanWorkload {
+    private Coffee[] coffees;
+    private double[] weights;
+    private double capacity;
+    private CoffeeVan loadedVan;
+    private CoffeeVan unsortedVan;
+
+    @Override
+    public void setUp(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        coffees = new Coffee[size];
+        weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            String name = "Coffee " + i;
+            double price = random.nextDouble(5, 60);
+            double quality = random.nextDouble(1, 10);
+            double volume = random.nextDouble(0.2, 1.0);
+            coffees[i] = switch (i % 3) {
+                case 0 -> new CoffeeBeans(name, price, quality, volume);
+                case 1 -> new GroundCoffee(name, price, quality, volume);
+                default -> new InstantCoffee(name, price, quality, volume);
+            };
+            weights[i] = random.nextDouble(1, 20);
+            capacity += weights[i] * volume;
+        }
+        capacity += 1;
+        loadedVan = (CoffeeVan) addCargo();
+    }
+
+    @Override
+    public Object addCargo() {
+        CoffeeVan van = new CoffeeVan(capacity);
+        for (int i = 0; i < coffees.length; i++) {
+            van.addCargo(coffees[i], weights[i]);
+        }
+        return van;
+    }
+
+    @Override
+    public void loadUnsortedVan() {
+        unsortedVan = (CoffeeVan) addCargo();
+    }
+
+    @Override
+    public Object sortCargoByPriceToWeight() {
+        unsortedVan.sortCargoByPriceToWeight();
+        return unsortedVan;
+    }
+
+    @Override
+    public Object findCargoByQualityRange() {
+        return loadedVan.findCargoByQualityRange(7.5, 9.0);
+    }
+}
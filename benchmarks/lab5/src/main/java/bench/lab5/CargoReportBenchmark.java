@@ -0,0 +1,78 @@
+package bench.lab5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading cost of a {@code CoffeeVan} while another thread reports on snapshots of it or sorts it.
+ * Compare the loader in the {@code loadOnly} group with the loaders of the other groups, reported
+ * as {@code loadWhileReporting:load} and {@code loadWhileSorting:loadDuringSort}; the score of a
+ * whole group averages its loader with the much slower report or sort. Neither readers nor the
+ * sorter ever make the loader wait, so it only competes with them for CPU time.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CargoReportBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private CargoReportWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = CargoReportWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    @Benchmark
+    @Group("loadOnly")
+    public void loadAlone() {
+        workload.load();
+    }
+
+    @Benchmark
+    @Group("loadWhileReporting")
+    @GroupThreads(1)
+    public void load() {
+        workload.load();
+    }
+
+    @Benchmark
+    @Group("loadWhileReporting")
+    @GroupThreads(1)
+    public double report() {
+        return workload.report();
+    }
+
+    @Benchmark
+    @Group("loadWhileSorting")
+    @GroupThreads(1)
+    public void loadDuringSort() {
+        workload.load();
+    }
+
+    @Benchmark
+    @Group("loadWhileSorting")
+    @GroupThreads(1)
+    public void sort() {
+        workload.sort();
+    }
+}
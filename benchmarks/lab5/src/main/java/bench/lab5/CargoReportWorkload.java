@@ -0,0 +1,26 @@
+package bench.lab5;
+
+import bench.common.Workloads;
+
+/**
+ * A van that is loaded and reported on at the same time, reached through
+ * {@code CargoReportWorkloadImpl} in the unnamed package. All methods are thread-safe.
+ */
+public interface CargoReportWorkload {
+
+    static CargoReportWorkload create() {
+        return Workloads.create(CargoReportWorkload.class);
+    }
+
+    /** Prepares coffees for a van that is replaced by an empty one after {@code size} loads. */
+    void setUp(int size, long seed);
+
+    /** Loads the next coffee into the shared van. */
+    void load();
+
+    /** Sorts the cargo of the shared van. */
+    void sort();
+
+    /** Walks a snapshot of the shared van and returns the total price per kilogram of its cargo. */
+    double report();
+}
@@ -0,0 +1,60 @@
+package bench.lab5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoffeeVanBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int size;
+
+    private CoffeeVanWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = CoffeeVanWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    /** Sorting mutates the van, so every sort invocation gets a freshly loaded one. */
+    @State(Scope.Thread)
+    public static class UnsortedVan {
+        @Setup(Level.Invocation)
+        public void load(CoffeeVanBenchmark benchmark) {
+            benchmark.workload.loadUnsortedVan();
+        }
+    }
+
+    @Benchmark
+    public Object addCargo() {
+        return workload.addCargo();
+    }
+
+    @Benchmark
+    public Object sortCargoByPriceToWeight(UnsortedVan unsortedVan) {
+        return workload.sortCargoByPriceToWeight();
+    }
+
+    @Benchmark
+    public Object findCargoByQualityRange() {
+        return workload.findCargoByQualityRange();
+    }
+}
@@ -0,0 +1,26 @@
+package bench.lab5;
+
+import bench.common.Workloads;
+
+/**
+ * Operations of lab5 exercised by the benchmarks, reached through
+ * {@code CoffeeVanWorkloadImpl} in the unnamed package.
+ */
+public interface CoffeeVanWorkload {
+
+    static CoffeeVanWorkload create() {
+        return Workloads.create(CoffeeVanWorkload.class);
+    }
+
+    void setUp(int size, long seed);
+
+    /** Loads all prepared coffees into a new van. */
+    Object addCargo();
+
+    /** Replaces the van used by {@link #sortCargoByPriceToWeight()} with a freshly loaded, unsorted one. */
+    void loadUnsortedVan();
+
+    Object sortCargoByPriceToWeight();
+
+    Object findCargoByQualityRange();
+}
@@ -0,0 +1,86 @@
+import bench.lab6.CoffeeCatalogWorkload;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+public class CoffeeCatalogWorkloadImpl implements CoffeeCatalogWorkload {
+    private String storage;
+    private long seed;
+    private Set<Coffee> catalog;
+    private Coffee[] probes;
+    private int next;
+
+    @Override
+    public void setUp(String storage, int size, long seed) {
+        this.storage = storage;
+        this.seed = seed;
+        catalog = newCatalog(storage, size);
+
+        // HashSet compares coffees by identity, so the probes that should be found are the added objects.
+        SplittableRandom random = new SplittableRandom(seed);
+        probes = new Coffee[1024];
+        int step = Math.max(1, size / (probes.length / 2));
+        for (int i = 0; i < size; i++) {
+            Coffee coffee = newCoffee("Coffee " + i, random);
+            catalog.add(coffee);
+            if (i % step == 0 && i / step < probes.length / 2) {
+                probes[2 * (i / step)] = coffee;
+            }
+        }
+        for (int i = 0; i < probes.length; i++) {
+            if (probes[i] == null) {
+                probes[i] = newCoffee("Missing " + i, random);
+            }
+        }
+    }
+
+    @Override
+    public boolean contains() {
+        return catalog.contains(probes[next++ & (probes.length - 1)]);
+    }
+
+    @Override
+    public int fill(int size) {
+        Set<Coffee> filled = newCatalog(storage, size);
+        try {
+            SplittableRandom random = new SplittableRandom(seed + 1);
+            for (int i = 0; i < size; i++) {
+                filled.add(newCoffee("Filled " + i, random));
+            }
+            return filled.size();
+        } finally {
+            release(filled);
+        }
+    }
+
+    @Override
+    public void close() {
+        release(catalog);
+        catalog = null;
+    }
+
+    private static Set<Coffee> newCatalog(String storage, int size) {
+        return switch (storage) {
+            case "onHeap" -> new HashSet<>(size * 4 / 3 + 1);
+            case "offHeap" -> new OffHeapCoffeeSet(size);
+            default -> throw new IllegalArgumentException("Unknown storage: " + storage);
+        };
+    }
+
+    private static void release(Set<Coffee> catalog) {
+        if (catalog instanceof OffHeapCoffeeSet offHeap) {
+            offHeap.close();
+        }
+    }
+
+    private static Coffee newCoffee(String name, SplittableRandom random) {
+        double volume = random.nextDouble(0.2, 1.0);
+        return new Coffee(name, random.nextDouble(5, 60), random.nextDouble(1, 100)) {
+            @Override
+            public double getVolume() {
+                return volume;
+            }
+        };
+    }
+}
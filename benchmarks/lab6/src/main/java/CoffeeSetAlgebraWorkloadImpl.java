@@ -0,0 +1,54 @@
+import bench.lab6.CoffeeSetAlgebraWorkload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class CoffeeSetAlgebraWorkloadImpl implements CoffeeSetAlgebraWorkload {
+    private CoffeeSet first;
+    private CoffeeSet second;
+
+    @Override
+    public void setUp(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Coffee> firstElements = new ArrayList<>(size);
+        List<Coffee> secondElements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Coffee coffee = newCoffee("Coffee " + i, random);
+            firstElements.add(coffee);
+            secondElements.add(i % 2 == 0 ? coffee : newCoffee("Other " + i, random));
+        }
+        first = new CoffeeSet(firstElements);
+        second = new CoffeeSet(secondElements);
+    }
+
+    @Override
+    public Object union(boolean parallel) {
+        return first.union(second, parallel);
+    }
+
+    @Override
+    public Object intersection(boolean parallel) {
+        return first.intersection(second, parallel);
+    }
+
+    @Override
+    public Object difference(boolean parallel) {
+        return first.difference(second, parallel);
+    }
+
+    @Override
+    public Object symmetricDifference(boolean parallel) {
+        return first.symmetricDifference(second, parallel);
+    }
+
+    private static Coffee newCoffee(String name, SplittableRandom random) {
+        double volume = random.nextDouble(0.2, 1.0);
+        return new Coffee(name, random.nextDouble(5, 60), random.nextDouble(1, 100)) {
+            @Override
+            public double getVolume() {
+                return volume;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+import bench.lab6.CoffeeSetWorkload;
+
+import java.util.SplittableRandom;
+
+public class CoffeeSetWorkloadImpl implements CoffeeSetWorkload {
+    private Coffee[] coffees;
+    private Coffee[] probes;
+    private CoffeeSet filled;
+    private CoffeeSet everySecond;
+    private int next;
+
+    @Override
+    public void setUp(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        coffees = new Coffee[size];
+        for (int i = 0; i < size; i++) {
+            coffees[i] = newCoffee("Coffee " + i, random);
+        }
+        filled = new CoffeeSet();
+        everySecond = new CoffeeSet();
+        for (int i = 0; i < size; i++) {
+            filled.add(coffees[i]);
+            if (i % 2 == 0) {
+                everySecond.add(coffees[i]);
+            }
+        }
+
+        probes = new Coffee[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i % 2 == 0 ? coffees[random.nextInt(size)] : newCoffee("Missing " + i, random);
+        }
+    }
+
+    @Override
+    public Object add() {
+        CoffeeSet set = new CoffeeSet();
+        for (Coffee coffee : coffees) {
+            set.add(coffee);
+        }
+        return set;
+    }
+
+    @Override
+    public boolean contains() {
+        return filled.contains(probes[next++ & (probes.length - 1)]);
+    }
+
+    @Override
+    public boolean removeAndAdd() {
+        Coffee coffee = coffees[Math.floorMod(next++, coffees.length)];
+        return filled.remove(coffee) & filled.add(coffee);
+    }
+
+    @Override
+    public Object retainAll() {
+        CoffeeSet copy = new CoffeeSet(filled);
+        copy.retainAll(everySecond);
+        return copy;
+    }
+
+    private static Coffee newCoffee(String name, SplittableRandom random) {
+        double volume = random.nextDouble(0.2, 1.0);
+        return new Coffee(name, random.nextDouble(5, 60), random.nextDouble(1, 100)) {
+            @Override
+            public double getVolume() {
+                return volume;
+            }
+        };
+    }
+}
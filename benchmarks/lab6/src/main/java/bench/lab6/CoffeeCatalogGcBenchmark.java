@@ -0,0 +1,92 @@
+package bench.lab6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GC cost of a large catalog kept in a {@code HashSet} against {@code OffHeapCoffeeSet}.
+ * <p>
+ * {@link #fill(FillState)} builds a catalog from scratch. The on-heap coffees survive the young
+ * collections that the fill triggers and are copied into the old generation, while the off-heap
+ * set only leaves short-lived coffee objects behind. Run with {@code -prof gc} and compare
+ * {@code gc.count} and {@code gc.time}; the score alone also includes the cost of the inserts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+// The foreign memory API is a preview API in JDK 21.
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xms3g", "-Xmx3g", "-XX:+UseG1GC"})
+public class CoffeeCatalogGcBenchmark {
+
+    @State(Scope.Thread)
+    public static class CatalogState {
+        @Param({"10000000"})
+        int size;
+
+        @Param({"onHeap", "offHeap"})
+        String storage;
+
+        CoffeeCatalogWorkload workload;
+
+        @Setup
+        public void setUp() {
+            workload = CoffeeCatalogWorkload.create();
+            workload.setUp(storage, size, 42);
+        }
+
+        @TearDown
+        public void tearDown() {
+            workload.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FillState {
+        @Param({"10000000"})
+        int size;
+
+        @Param({"onHeap", "offHeap"})
+        String storage;
+
+        CoffeeCatalogWorkload workload;
+
+        // Keeps no catalog of its own, so the heap holds only the catalog being filled.
+        @Setup
+        public void setUp() {
+            workload = CoffeeCatalogWorkload.create();
+            workload.setUp(storage, 0, 42);
+        }
+
+        @TearDown
+        public void tearDown() {
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean contains(CatalogState state) {
+        return state.workload.contains();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public int fill(FillState state) {
+        return state.workload.fill(state.size);
+    }
+}
@@ -0,0 +1,33 @@
+package bench.lab6;
+
+import bench.common.Workloads;
+
+/**
+ * Large coffee catalogs kept on or off the Java heap, reached through
+ * {@code CoffeeCatalogWorkloadImpl} in the unnamed package.
+ */
+public interface CoffeeCatalogWorkload extends AutoCloseable {
+
+    static CoffeeCatalogWorkload create() {
+        return Workloads.create(CoffeeCatalogWorkload.class);
+    }
+
+    /**
+     * Fills a catalog of {@code size} coffees.
+     *
+     * @param storage {@code "onHeap"} for a {@code HashSet}, {@code "offHeap"} for an {@code OffHeapCoffeeSet}
+     */
+    void setUp(String storage, int size, long seed);
+
+    /** Looks up the next prepared probe; half of the probes are not in the catalog. */
+    boolean contains();
+
+    /**
+     * Fills a new catalog of {@code size} coffees with the storage given to {@link #setUp},
+     * releases it and returns the number of coffees it held.
+     */
+    int fill(int size);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,58 @@
+package bench.lab6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CoffeeSetAlgebraBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private CoffeeSetAlgebraWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = CoffeeSetAlgebraWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    @Benchmark
+    public Object union() {
+        return workload.union(parallel);
+    }
+
+    @Benchmark
+    public Object intersection() {
+        return workload.intersection(parallel);
+    }
+
+    @Benchmark
+    public Object difference() {
+        return workload.difference(parallel);
+    }
+
+    @Benchmark
+    public Object symmetricDifference() {
+        return workload.symmetricDifference(parallel);
+    }
+}
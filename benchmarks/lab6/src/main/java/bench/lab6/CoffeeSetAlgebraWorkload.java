@@ -0,0 +1,25 @@
+package bench.lab6;
+
+import bench.common.Workloads;
+
+/**
+ * Set algebra between two {@code CoffeeSet}s, reached through
+ * {@code CoffeeSetAlgebraWorkloadImpl} in the unnamed package.
+ */
+public interface CoffeeSetAlgebraWorkload {
+
+    static CoffeeSetAlgebraWorkload create() {
+        return Workloads.create(CoffeeSetAlgebraWorkload.class);
+    }
+
+    /** Prepares two sets of {@code size} coffees that share half of their elements. */
+    void setUp(int size, long seed);
+
+    Object union(boolean parallel);
+
+    Object intersection(boolean parallel);
+
+    Object difference(boolean parallel);
+
+    Object symmetricDifference(boolean parallel);
+}
@@ -0,0 +1,64 @@
+package bench.lab6;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoffeeSetBenchmark {
+
+    // CoffeeSet is a linked list, so add() of n elements is O(n^2); sizes are kept moderate.
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private CoffeeSetWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = CoffeeSetWorkload.create();
+        workload.setUp(size, 42);
+    }
+
+    @Benchmark
+    public Object add() {
+        return workload.add();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return workload.contains();
+    }
+
+    /** Same as {@link #contains()} with metrics recording turned on, to show its cost. */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dmetrics.enabled=true")
+    public boolean containsWithMetricsEnabled() {
+        return workload.contains();
+    }
+
+    @Benchmark
+    public boolean removeAndAdd() {
+        return workload.removeAndAdd();
+    }
+
+    /** Copy of the set through {@code addAll} followed by {@code retainAll}, both linear in the set sizes. */
+    @Benchmark
+    public Object retainAll() {
+        return workload.retainAll();
+    }
+}
@@ -0,0 +1,28 @@
+package bench.lab6;
+
+import bench.common.Workloads;
+
+/**
+ * Operations of lab6 exercised by the benchmarks, reached through
+ * {@code CoffeeSetWorkloadImpl} in the unnamed package.
+ */
+public interface CoffeeSetWorkload {
+
+    static CoffeeSetWorkload create() {
+        return Workloads.create(CoffeeSetWorkload.class);
+    }
+
+    void setUp(int size, long seed);
+
+    /** Adds all prepared coffees to a new set. */
+    Object add();
+
+    /** Looks up the next prepared probe; half of the probes are not in the set. */
+    boolean contains();
+
+    /** Removes the next element of the filled set and adds it back, keeping the set size stable. */
+    boolean removeAndAdd();
+
+    /** Copies the filled set and retains every second coffee in the copy. */
+    Object retainAll();
+}
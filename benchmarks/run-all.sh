@@ -0,0 +1,30 @@
+#!/usr/bin/env sh
+# Runs the benchmarks of every lab and writes JMH JSON results to <output-dir>/labN.json.
+#
+# Usage: benchmarks/run-all.sh <output-dir> [extra JMH options]
+# Example: benchmarks/run-all.sh results -f 3 -wi 3 -w 1 -i 5 -r 1   (the options of the baseline)
+set -e
+
+if [ -z "$1" ]; then
+    echo "Usage: $0 <output-dir> [extra JMH options]" >&2
+    exit 1
+fi
+
+root=$(cd "$(dirname "$0")/.." && pwd)
+output=$1
+shift
+mkdir -p "$output"
+
+for lab in lab1 lab2 lab3 lab4 lab5 lab6; do
+    jar="$root/benchmarks/$lab/target/$lab-benchmarks.jar"
+    if [ ! -f "$jar" ]; then
+        echo "$jar not found, run 'mvn package' first" >&2
+        exit 1
+    fi
+    # The lab6 catalog benchmarks compare GC costs, which only the GC profiler reports.
+    profiler=""
+    if [ "$lab" = lab6 ]; then
+        profiler="-prof gc"
+    fi
+    java -jar "$jar" -rf json -rff "$output/$lab.json" $profiler "$@"
+done
@@ -0,0 +1,13 @@
+/**
+ * Спосіб накопичення суми в {@link Main#calculateSumOfMinElements(long[][], AccumulationMode)}.
+ */
+enum AccumulationMode {
+    /** Звичайне додавання {@code long}, переповнення не перевіряється. */
+    WRAPPING,
+    /** {@link Math#addExact(long, long)}: при переповненні кидається {@link ArithmeticException}. */
+    CHECKED,
+    /** Точна 128-бітна сума через {@link WideSum}. */
+    WIDE,
+    /** Точна сума, стовпці розбиваються на частини і обробляються паралельно. */
+    PARALLEL
+}
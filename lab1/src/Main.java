@@ -1,8 +1,30 @@
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class Main {
 
+    private static final MatrixKernels VECTOR_KERNELS = loadVectorKernels();
+    private static final int PARALLEL_MIN_COLUMNS = 1024;
+
+    private static final Histogram TRANSPOSE_TIME = MetricsRegistry.histogram("lab1.matrix.transpose");
+    private static final Histogram MIN_SUM_TIME = MetricsRegistry.histogram("lab1.matrix.sumOfMinElements");
+    private static final Counter SUM_OVERFLOWS = MetricsRegistry.counter("lab1.matrix.sumOfMinElements.overflow");
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            processMatrixFile(Path.of(args[0]));
+            return;
+        }
+
         try {
             long[][] matrix = {
                     {4, 8, 2},
@@ -18,6 +40,22 @@ public class Main {
             long sumOfMinElements = calculateSumOfMinElements(transposedMatrix);
 
             System.out.println("Сума найменших елементів кожного стовпця: " + sumOfMinElements);
+
+            if (MetricsRegistry.isEnabled()) {
+                System.out.print(MetricsRegistry.dump());
+            }
+        } catch (Exception e) {
+            System.err.println("Виникла помилка: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Обробка бінарного файлу матриці без завантаження його в пам'ять.
+    // Сума мінімумів стовпців транспонованої матриці дорівнює сумі мінімумів рядків вихідної.
+    private static void processMatrixFile(Path path) {
+        try (MappedMatrix matrix = MappedMatrix.open(path)) {
+            System.out.println("Розмір матриці: " + matrix.rows() + "x" + matrix.cols());
+            System.out.println("Сума найменших елементів кожного стовпця: " + matrix.sumOfRowMins());
         } catch (Exception e) {
             System.err.println("Виникла помилка: " + e.getMessage());
             e.printStackTrace();
@@ -29,17 +67,25 @@ public class Main {
             throw new IllegalArgumentException("Матриця не може бути порожньою");
         }
 
-        int rows = matrix.length;
-        int cols = matrix[0].length;
-        long[][] transposed = new long[cols][rows];
+        long start = TRANSPOSE_TIME.start();
+        MatrixKernelEvent event = new MatrixKernelEvent();
+        event.start();
+        try {
+            int rows = matrix.length;
+            int cols = matrix[0].length;
+            long[][] transposed = new long[cols][rows];
 
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                transposed[j][i] = matrix[i][j];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    transposed[j][i] = matrix[i][j];
+                }
             }
-        }
 
-        return transposed;
+            return transposed;
+        } finally {
+            TRANSPOSE_TIME.stop(start);
+            commitEvent(event, "transposeMatrix", matrix, false);
+        }
     }
 
     public static long calculateSumOfMinElements(long[][] matrix) {
@@ -47,6 +93,117 @@ public class Main {
             throw new IllegalArgumentException("Матриця не може бути порожньою");
         }
 
+        long start = MIN_SUM_TIME.start();
+        MatrixKernelEvent event = new MatrixKernelEvent();
+        event.start();
+        boolean vectorized = useVectorKernels();
+        try {
+            return vectorized
+                    ? wrappingSumOfColumnMins(matrix)
+                    : calculateSumOfMinElementsScalar(matrix);
+        } finally {
+            MIN_SUM_TIME.stop(start);
+            commitEvent(event, "calculateSumOfMinElements", matrix, vectorized);
+        }
+    }
+
+    public static WideSum calculateSumOfMinElements(long[][] matrix, AccumulationMode mode) {
+        if (matrix == null || matrix.length == 0) {
+            throw new IllegalArgumentException("Матриця не може бути порожньою");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Режим накопичення не може бути порожнім");
+        }
+
+        long start = MIN_SUM_TIME.start();
+        MatrixKernelEvent event = new MatrixKernelEvent();
+        event.start();
+        try {
+            WideSum sum = new WideSum();
+            switch (mode) {
+                case WRAPPING -> sum.add(useVectorKernels()
+                        ? wrappingSumOfColumnMins(matrix)
+                        : calculateSumOfMinElementsScalar(matrix));
+                case CHECKED -> {
+                    long checked = 0;
+                    try {
+                        for (long min : columnMins(matrix)) {
+                            checked = Math.addExact(checked, min);
+                        }
+                    } catch (ArithmeticException e) {
+                        SUM_OVERFLOWS.increment();
+                        throw e;
+                    }
+                    sum.add(checked);
+                }
+                case WIDE -> {
+                    for (long min : columnMins(matrix)) {
+                        sum.add(min);
+                    }
+                }
+                case PARALLEL -> sum.add(parallelSumOfColumnMins(matrix));
+            }
+            if (!sum.fitsInLong()) {
+                SUM_OVERFLOWS.increment();
+            }
+            return sum;
+        } finally {
+            MIN_SUM_TIME.stop(start);
+            commitEvent(event, "calculateSumOfMinElements." + mode, matrix, useVectorKernels());
+        }
+    }
+
+    // Стовпці діляться на частини, для кожної частини рахується власна часткова сума,
+    // а часткові суми об'єднуються в кінці.
+    private static WideSum parallelSumOfColumnMins(long[][] matrix) {
+        int cols = matrix[0].length;
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                cols / PARALLEL_MIN_COLUMNS));
+        int chunkSize = (cols + chunks - 1) / chunks;
+        boolean vector = useVectorKernels();
+
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    int from = chunk * chunkSize;
+                    int to = Math.min(cols, from + chunkSize);
+                    WideSum partial = new WideSum();
+                    if (from >= to) {
+                        return partial;
+                    }
+                    long[] mins = vector
+                            ? VECTOR_KERNELS.columnMins(matrix, from, to)
+                            : scalarColumnMins(matrix, from, to);
+                    for (long min : mins) {
+                        partial.add(min);
+                    }
+                    return partial;
+                })
+                .reduce((left, right) -> {
+                    left.add(right);
+                    return left;
+                })
+                .orElseGet(WideSum::new);
+    }
+
+    // Рядок за рядком, як і векторне ядро; доступне бенчмаркам як скалярна база для нього.
+    static long[] scalarColumnMins(long[][] matrix, int from, int to) {
+        long[] mins = new long[to - from];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        for (long[] row : matrix) {
+            for (int j = from; j < to; j++) {
+                if (row[j] < mins[j - from]) {
+                    mins[j - from] = row[j];
+                }
+            }
+        }
+        return mins;
+    }
+
+    public static long calculateSumOfMinElementsScalar(long[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            throw new IllegalArgumentException("Матриця не може бути порожньою");
+        }
+
         long sum = 0;
 
         for (int j = 0; j < matrix[0].length; j++) {
@@ -62,14 +219,114 @@ public class Main {
         return sum;
     }
 
+    public static long[] findColumnMins(long[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            throw new IllegalArgumentException("Матриця не може бути порожньою");
+        }
+
+        MatrixKernelEvent event = new MatrixKernelEvent();
+        event.start();
+        try {
+            return columnMins(matrix);
+        } finally {
+            commitEvent(event, "findColumnMins", matrix, useVectorKernels());
+        }
+    }
+
+    // Мінімуми рахуються тим самим викликом ядра, що й у CHECKED і WIDE. Коли ядро саме
+    // підсумовувало мінімуми, його цикл компілювався в іншому контексті і для матриці
+    // 2048x2048 працював на 15% повільніше.
+    private static long wrappingSumOfColumnMins(long[][] matrix) {
+        long sum = 0;
+        for (long min : columnMins(matrix)) {
+            sum += min;
+        }
+        return sum;
+    }
+
+    // Без власної події: її записує метод, який викликав ядро.
+    private static long[] columnMins(long[][] matrix) {
+        return useVectorKernels()
+                ? VECTOR_KERNELS.columnMins(matrix, 0, matrix[0].length)
+                : scalarColumnMins(matrix, 0, matrix[0].length);
+    }
+
+    public static long[] findRowMins(long[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            throw new IllegalArgumentException("Матриця не може бути порожньою");
+        }
+
+        MatrixKernelEvent event = new MatrixKernelEvent();
+        event.start();
+        boolean vectorized = useVectorKernels();
+        try {
+            if (vectorized) {
+                return VECTOR_KERNELS.rowMins(matrix);
+            }
+            long[] mins = new long[matrix.length];
+            for (int i = 0; i < matrix.length; i++) {
+                long min = Long.MAX_VALUE;
+                for (long value : matrix[i]) {
+                    if (value < min) {
+                        min = value;
+                    }
+                }
+                mins[i] = min;
+            }
+            return mins;
+        } finally {
+            commitEvent(event, "findRowMins", matrix, vectorized);
+        }
+    }
+
+    private static boolean useVectorKernels() {
+        return VECTOR_KERNELS != null;
+    }
+
+    // Клас VectorMatrixKernels з lab1/vector завантажується лише тоді, коли він скомпільований
+    // і модуль доданий до запуску (--add-modules jdk.incubator.vector), інакше працює скалярний код.
+    private static MatrixKernels loadVectorKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            MatrixKernels kernels = (MatrixKernels) Class.forName("VectorMatrixKernels")
+                    .getDeclaredConstructor().newInstance();
+            return kernels.isProfitable() ? kernels : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static void commitEvent(MatrixKernelEvent event, String kernel, long[][] matrix, boolean vectorized) {
+        if (event.finish()) {
+            event.kernel = kernel;
+            event.rows = matrix.length;
+            event.cols = matrix[0].length;
+            event.vectorized = vectorized;
+            event.commit();
+        }
+    }
+
     public static void printMatrix(long[][] matrix) {
         if (matrix == null || matrix.length == 0) {
             System.out.println("Матриця порожня");
             return;
         }
 
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        StringBuilder line = new StringBuilder();
         for (long[] row : matrix) {
-            System.out.println(Arrays.toString(row));
+            line.setLength(0);
+            line.append('[');
+            for (int j = 0; j < row.length; j++) {
+                if (j > 0) {
+                    line.append(", ");
+                }
+                line.append(row[j]);
+            }
+            out.println(line.append(']'));
         }
+        out.flush();
     }
 }
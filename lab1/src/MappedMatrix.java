@@ -0,0 +1,215 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Матриця у бінарному файлі формату {@link MatrixFiles}, що обробляється через
+ * {@code FileChannel.map} вікнами по кілька рядків. У пам'яті тримається лише поточне
+ * вікно, тому розмір матриці обмежений диском, а не купою.
+ */
+final class MappedMatrix implements AutoCloseable {
+    private static final int TRANSPOSE_TILE_VALUES = 1 << 20;
+    private static final int TRANSPOSE_TILE_COLS = 64;
+    private static final int TRANSPOSE_STRIP_ROWS = 64;
+
+    private final FileChannel channel;
+    private final long rows;
+    private final long cols;
+
+    private MappedMatrix(FileChannel channel, long rows, long cols) {
+        this.channel = channel;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    public static MappedMatrix open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(MatrixFiles.HEADER_SIZE).order(MatrixFiles.ORDER);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IllegalArgumentException("Файл не містить заголовка матриці: " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MatrixFiles.MAGIC) {
+                throw new IllegalArgumentException("Файл не є бінарною матрицею: " + path);
+            }
+            header.getInt();
+            long rows = header.getLong();
+            long cols = header.getLong();
+            if (rows <= 0 || cols <= 0 || cols > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Некоректний розмір матриці: " + rows + "x" + cols);
+            }
+            if (channel.size() < MatrixFiles.HEADER_SIZE + Math.multiplyExact(Math.multiplyExact(rows, cols), Long.BYTES)) {
+                throw new IllegalArgumentException("Файл матриці обрізаний: " + path);
+            }
+            return new MappedMatrix(channel, rows, cols);
+        } catch (RuntimeException | IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long cols() {
+        return cols;
+    }
+
+    public long[] readRow(long row) throws IOException {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Рядок " + row + " поза межами матриці");
+        }
+        long[] values = new long[(int) cols];
+        map(row, 1).get(values);
+        return values;
+    }
+
+    public long[] columnMins() throws IOException {
+        long[] mins = new long[(int) cols];
+        Arrays.fill(mins, Long.MAX_VALUE);
+
+        int rowsPerWindow = MatrixFiles.rowsPerWindow(cols);
+        for (long first = 0; first < rows; first += rowsPerWindow) {
+            int count = (int) Math.min(rowsPerWindow, rows - first);
+            LongBuffer window = map(first, count);
+            int index = 0;
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < mins.length; j++) {
+                    long value = window.get(index++);
+                    if (value < mins[j]) {
+                        mins[j] = value;
+                    }
+                }
+            }
+        }
+        return mins;
+    }
+
+    public long sumOfColumnMins() throws IOException {
+        long sum = 0;
+        for (long min : columnMins()) {
+            sum += min;
+        }
+        return sum;
+    }
+
+    /**
+     * Сума мінімумів рядків, що дорівнює сумі мінімумів стовпців транспонованої матриці,
+     * але не потребує запису транспонованого файлу.
+     */
+    public long sumOfRowMins() throws IOException {
+        long sum = 0;
+        int rowsPerWindow = MatrixFiles.rowsPerWindow(cols);
+        for (long first = 0; first < rows; first += rowsPerWindow) {
+            int count = (int) Math.min(rowsPerWindow, rows - first);
+            LongBuffer window = map(first, count);
+            int index = 0;
+            for (int i = 0; i < count; i++) {
+                long min = Long.MAX_VALUE;
+                for (long j = 0; j < cols; j++) {
+                    long value = window.get(index++);
+                    if (value < min) {
+                        min = value;
+                    }
+                }
+                sum += min;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Записує транспоновану матрицю у файл {@code target}. Результат збирається в буфері
+     * плитками до {@value #TRANSPOSE_TILE_COLS} стовпців вихідної матриці, тож кожне її
+     * вікно читається один раз на смугу стовпців. Якщо плитка охоплює всі рядки, вона
+     * займає у файлі результату суцільний відрізок і записується одним викликом; інакше
+     * кожен її стовпець записується окремим відрізком довжиною з висоту плитки.
+     */
+    public MappedMatrix transposeTo(Path target) throws IOException {
+        return transposeTo(target, TRANSPOSE_TILE_VALUES);
+    }
+
+    // Розмір плитки задається окремо, щоб тести перевіряли кілька плиток на малих матрицях.
+    MappedMatrix transposeTo(Path target, int tileSize) throws IOException {
+        if (rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Транспонована матриця матиме занадто довгі рядки");
+        }
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            MatrixFiles.writeHeader(out, cols, rows);
+
+            // Плитка охоплює tileRows рядків вихідної матриці і tileCols її стовпців. Коли
+            // рядки вміщуються в плитку повністю, решта буфера йде на додаткові стовпці,
+            // бо тоді відповідні рядки результату лежать у файлі поспіль.
+            int tileRows = (int) Math.min(rows, Math.max(1, tileSize / Math.min(cols, TRANSPOSE_TILE_COLS)));
+            int tileCols = (int) (tileRows == rows
+                    ? Math.min(cols, Math.max(1, tileSize / tileRows))
+                    : Math.min(cols, TRANSPOSE_TILE_COLS));
+            ByteBuffer tile = ByteBuffer.allocateDirect(tileRows * tileCols * Long.BYTES).order(MatrixFiles.ORDER);
+            LongBuffer tileValues = tile.asLongBuffer();
+            int rowsPerWindow = MatrixFiles.rowsPerWindow(cols);
+
+            for (int firstCol = 0; firstCol < cols; firstCol += tileCols) {
+                int width = (int) Math.min(tileCols, cols - firstCol);
+                for (long firstRow = 0; firstRow < rows; firstRow += tileRows) {
+                    int height = (int) Math.min(tileRows, rows - firstRow);
+                    for (int done = 0; done < height; ) {
+                        int count = Math.min(rowsPerWindow, height - done);
+                        LongBuffer window = map(firstRow + done, count);
+                        // Смуги по TRANSPOSE_STRIP_ROWS рядків: у межах смуги кожен стовпець плитки
+                        // заповнюється суцільним відрізком, а рядки смуги лишаються в кеші.
+                        for (int strip = 0; strip < count; strip += TRANSPOSE_STRIP_ROWS) {
+                            int stripEnd = Math.min(count, strip + TRANSPOSE_STRIP_ROWS);
+                            for (int j = 0; j < width; j++) {
+                                int tileStart = j * height + done;
+                                for (int i = strip; i < stripEnd; i++) {
+                                    tileValues.put(tileStart + i, window.get(i * (int) cols + firstCol + j));
+                                }
+                            }
+                        }
+                        done += count;
+                    }
+
+                    if (height == rows) {
+                        tile.clear().limit(width * height * Long.BYTES);
+                        write(out, tile, firstCol, firstRow);
+                    } else {
+                        for (int j = 0; j < width; j++) {
+                            tile.limit((j + 1) * height * Long.BYTES).position(j * height * Long.BYTES);
+                            write(out, tile, firstCol + j, firstRow);
+                        }
+                    }
+                }
+            }
+        }
+        return open(target);
+    }
+
+    // Записує залишок буфера в рядок col транспонованої матриці, починаючи зі стовпця firstRow.
+    private void write(FileChannel out, ByteBuffer values, long col, long firstRow) throws IOException {
+        long position = MatrixFiles.HEADER_SIZE + (col * rows + firstRow) * Long.BYTES;
+        while (values.hasRemaining()) {
+            position += out.write(values, position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private LongBuffer map(long firstRow, int rowCount) throws IOException {
+        long rowBytes = cols * Long.BYTES;
+        return channel.map(FileChannel.MapMode.READ_ONLY, MatrixFiles.HEADER_SIZE + firstRow * rowBytes,
+                rowCount * rowBytes).order(MatrixFiles.ORDER).asLongBuffer();
+    }
+}
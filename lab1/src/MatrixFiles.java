@@ -0,0 +1,227 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Читання та запис матриць у двох форматах.
+ * <p>
+ * Бінарний формат: заголовок {@link #HEADER_SIZE} байтів (сигнатура, кількість рядків і
+ * стовпців), далі елементи рядок за рядком як little-endian {@code long}. Такий файл можна
+ * обробляти без завантаження в пам'ять через {@link MappedMatrix}.
+ * <p>
+ * Текстовий формат: перший рядок містить кількість рядків і стовпців, кожен наступний —
+ * елементи одного рядка матриці, розділені пробілами.
+ */
+final class MatrixFiles {
+    static final int MAGIC = 0x4C4D4154;
+    static final int HEADER_SIZE = 24;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final long WINDOW_BYTES = 64L << 20;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private MatrixFiles() {
+    }
+
+    public static void writeBinary(Path path, long[][] matrix) throws IOException {
+        checkRectangular(matrix);
+        int rows = matrix.length;
+        int cols = matrix[0].length;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            writeHeader(channel, rows, cols);
+
+            long rowBytes = (long) cols * Long.BYTES;
+            int rowsPerWindow = rowsPerWindow(cols);
+            for (int first = 0; first < rows; first += rowsPerWindow) {
+                int count = Math.min(rowsPerWindow, rows - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_SIZE + first * rowBytes, count * rowBytes);
+                LongBuffer values = window.order(ORDER).asLongBuffer();
+                for (int i = first; i < first + count; i++) {
+                    values.put(matrix[i]);
+                }
+                window.force();
+            }
+        }
+    }
+
+    public static long[][] readBinary(Path path) throws IOException {
+        try (MappedMatrix mapped = MappedMatrix.open(path)) {
+            // Кожен рядок читається в окремий масив, тому обмежені кількість рядків і довжина
+            // одного рядка, а не кількість елементів усієї матриці.
+            if (mapped.rows() > MAX_ARRAY_LENGTH || mapped.cols() * Long.BYTES > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Матриця занадто велика для завантаження в пам'ять, використовуйте MappedMatrix");
+            }
+            long[][] matrix = new long[(int) mapped.rows()][];
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i] = mapped.readRow(i);
+            }
+            return matrix;
+        }
+    }
+
+    public static void writeText(Path path, long[][] matrix) throws IOException {
+        checkRectangular(matrix);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writeText(writer, matrix);
+        }
+    }
+
+    public static void writeText(Writer writer, long[][] matrix) throws IOException {
+        writer.write(matrix.length + " " + matrix[0].length);
+        writer.write('\n');
+        for (long[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                if (j > 0) {
+                    writer.write(' ');
+                }
+                writer.write(Long.toString(row[j]));
+            }
+            writer.write('\n');
+        }
+    }
+
+    public static long[][] readText(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            return readText(reader);
+        }
+    }
+
+    public static long[][] readText(Reader reader) throws IOException {
+        Tokenizer tokens = new Tokenizer(reader);
+        long rows = tokens.nextLong();
+        long cols = tokens.nextLong();
+        if (rows <= 0 || cols <= 0 || rows > Integer.MAX_VALUE || cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Некоректний розмір матриці: " + rows + "x" + cols);
+        }
+
+        long[][] matrix = new long[(int) rows][(int) cols];
+        for (long[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = tokens.nextLong();
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Перетворює текстовий файл у бінарний, тримаючи в пам'яті лише одне вікно рядків.
+     */
+    public static void convertTextToBinary(Path source, Path target) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.US_ASCII);
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Tokenizer tokens = new Tokenizer(reader);
+            long rows = tokens.nextLong();
+            long cols = tokens.nextLong();
+            if (rows <= 0 || cols <= 0 || cols > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Некоректний розмір матриці: " + rows + "x" + cols);
+            }
+            writeHeader(channel, rows, cols);
+
+            long rowBytes = cols * Long.BYTES;
+            int rowsPerWindow = rowsPerWindow(cols);
+            for (long first = 0; first < rows; first += rowsPerWindow) {
+                long count = Math.min(rowsPerWindow, rows - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_SIZE + first * rowBytes, count * rowBytes);
+                LongBuffer values = window.order(ORDER).asLongBuffer();
+                while (values.hasRemaining()) {
+                    values.put(tokens.nextLong());
+                }
+                window.force();
+            }
+        }
+    }
+
+    static void writeHeader(FileChannel channel, long rows, long cols) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+        header.putInt(MAGIC).putInt(0).putLong(rows).putLong(cols).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    static int rowsPerWindow(long cols) {
+        long rowBytes = cols * Long.BYTES;
+        if (rowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Рядок матриці не може перевищувати 2 ГБ");
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE / rowBytes, WINDOW_BYTES / rowBytes));
+    }
+
+    private static void checkRectangular(long[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            throw new IllegalArgumentException("Матриця не може бути порожньою");
+        }
+        for (long[] row : matrix) {
+            if (row.length != matrix[0].length) {
+                throw new IllegalArgumentException("Усі рядки матриці повинні мати однакову довжину");
+            }
+        }
+    }
+
+    private static final class Tokenizer {
+        private final Reader reader;
+        private final char[] buffer = new char[1 << 16];
+        private int position;
+        private int limit;
+
+        Tokenizer(Reader reader) {
+            this.reader = reader;
+        }
+
+        long nextLong() throws IOException {
+            int c = read();
+            while (c != -1 && Character.isWhitespace(c)) {
+                c = read();
+            }
+            if (c == -1) {
+                throw new IllegalArgumentException("Файл матриці закінчився раніше, ніж очікувалось");
+            }
+
+            boolean negative = c == '-';
+            if (negative || c == '+') {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Очікувалось число, знайдено '" + (char) c + "'");
+            }
+
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = Math.addExact(Math.multiplyExact(value, 10), negative ? -(c - '0') : c - '0');
+                c = read();
+            }
+            if (c != -1 && !Character.isWhitespace(c)) {
+                throw new IllegalArgumentException("Некоректний символ у числі: '" + (char) c + "'");
+            }
+            return value;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+}
@@ -0,0 +1,27 @@
+import profiling.AllocationTrackingEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Подія JFR для кожного виклику матричних ядер з {@link Main}.
+ */
+@Name("lab1.MatrixKernel")
+@Label("Matrix Kernel")
+@Category({"Labs", "Lab1"})
+@Description("Transpose and min-reduction kernels over a long[][] matrix")
+class MatrixKernelEvent extends AllocationTrackingEvent {
+    @Label("Kernel")
+    String kernel;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int cols;
+
+    @Label("Vectorized")
+    boolean vectorized;
+}
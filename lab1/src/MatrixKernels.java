@@ -0,0 +1,18 @@
+/**
+ * Ядра мінімумів по стовпцях і рядках матриці, що мають окрему SIMD-реалізацію.
+ * <p>
+ * SIMD-реалізація {@code VectorMatrixKernels} лежить в окремому каталозі {@code lab1/vector},
+ * бо компілюється тільки з {@code --add-modules jdk.incubator.vector}. Код у {@code lab1/src}
+ * залежить лише від цього інтерфейсу і компілюється звичайним {@code javac}; {@link Main}
+ * завантажує SIMD-реалізацію через рефлексію, якщо вона є в classpath і модуль Vector API
+ * доданий до запуску.
+ */
+interface MatrixKernels {
+
+    /** Чи швидша ця реалізація за скалярний код на поточному процесорі. */
+    boolean isProfitable();
+
+    long[] columnMins(long[][] matrix, int from, int to);
+
+    long[] rowMins(long[][] matrix);
+}
@@ -0,0 +1,53 @@
+import java.math.BigInteger;
+
+/**
+ * 128-бітний накопичувач суми {@code long}-значень.
+ * <p>
+ * Молодше слово накопичується звичайним додаванням з переповненням, а старше лише
+ * рахує, скільки разів сума перейшла через межу {@code long}. Поки переповнень немає,
+ * {@link #add(long)} виконує одне додавання і одну перевірку знаку без виділення пам'яті;
+ * {@link BigInteger} створюється тільки в {@link #toBigInteger()}, якщо результат не
+ * вміщується в {@code long}.
+ */
+final class WideSum {
+    private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+
+    private long low;
+    private long high;
+
+    public void add(long value) {
+        long result = low + value;
+        if (((low ^ result) & (value ^ result)) < 0) {
+            high += value < 0 ? -1 : 1;
+        }
+        low = result;
+    }
+
+    public void add(WideSum other) {
+        add(other.low);
+        high += other.high;
+    }
+
+    public boolean fitsInLong() {
+        return high == 0;
+    }
+
+    public long longValueExact() {
+        if (high != 0) {
+            throw new ArithmeticException("Сума не вміщується в long");
+        }
+        return low;
+    }
+
+    public BigInteger toBigInteger() {
+        if (high == 0) {
+            return BigInteger.valueOf(low);
+        }
+        return BigInteger.valueOf(high).multiply(TWO_TO_64).add(BigInteger.valueOf(low));
+    }
+
+    @Override
+    public String toString() {
+        return high == 0 ? Long.toString(low) : toBigInteger().toString();
+    }
+}
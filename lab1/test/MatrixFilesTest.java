@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatrixFilesTest {
+    private static final SplittableRandom RANDOM = new SplittableRandom(21);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        for (long[][] matrix : matrices()) {
+            Path file = directory.resolve("matrix.bin");
+            MatrixFiles.writeBinary(file, matrix);
+            assertMatrixEquals(matrix, MatrixFiles.readBinary(file));
+        }
+    }
+
+    @Test
+    void textRoundTrip() throws IOException {
+        for (long[][] matrix : matrices()) {
+            Path file = directory.resolve("matrix.txt");
+            MatrixFiles.writeText(file, matrix);
+            assertMatrixEquals(matrix, MatrixFiles.readText(file));
+
+            StringWriter writer = new StringWriter();
+            MatrixFiles.writeText(writer, matrix);
+            assertMatrixEquals(matrix, MatrixFiles.readText(new StringReader(writer.toString())));
+        }
+    }
+
+    @Test
+    void textToBinaryConversionMatchesBinaryWriter() throws IOException {
+        for (long[][] matrix : matrices()) {
+            Path text = directory.resolve("matrix.txt");
+            Path converted = directory.resolve("converted.bin");
+            Path written = directory.resolve("written.bin");
+            MatrixFiles.writeText(text, matrix);
+            MatrixFiles.convertTextToBinary(text, converted);
+            MatrixFiles.writeBinary(written, matrix);
+
+            assertArrayEquals(Files.readAllBytes(written), Files.readAllBytes(converted));
+            assertMatrixEquals(matrix, MatrixFiles.readBinary(converted));
+        }
+    }
+
+    @Test
+    void transposeToMatchesInMemoryTranspose() throws IOException {
+        for (long[][] matrix : matrices()) {
+            Path source = directory.resolve("source.bin");
+            MatrixFiles.writeBinary(source, matrix);
+            try (MappedMatrix mapped = MappedMatrix.open(source);
+                 MappedMatrix transposed = mapped.transposeTo(directory.resolve("transposed.bin"))) {
+                long[][] expected = Main.transposeMatrix(matrix);
+                assertEquals(matrix[0].length, transposed.rows());
+                assertEquals(matrix.length, transposed.cols());
+                assertMatrixEquals(expected, MatrixFiles.readBinary(directory.resolve("transposed.bin")));
+
+                assertArrayEquals(Main.findColumnMins(matrix), mapped.columnMins());
+                assertEquals(Main.calculateSumOfMinElementsScalar(matrix), mapped.sumOfColumnMins());
+                assertEquals(Main.calculateSumOfMinElementsScalar(expected), mapped.sumOfRowMins());
+                assertEquals(mapped.sumOfRowMins(), transposed.sumOfColumnMins());
+            }
+        }
+    }
+
+    @Test
+    void transposeToWritesEveryTileShape() throws IOException {
+        // Вузька матриця: плитки з частиною рядків і всіма стовпцями, записані по стовпцях,
+        // і плитки з усіма рядками. Широка: смуги з неповною останньою і вся матриця в плитці.
+        long[][][] matrices = {random(100, 7), random(50, 130)};
+        int[] tileSizes = {1, 33, 250, 300, 700, 3_200, 6_400, 10_000, 1 << 20};
+        for (int m = 0; m < matrices.length; m++) {
+            long[][] matrix = matrices[m];
+            Path source = directory.resolve("source-" + m + ".bin");
+            MatrixFiles.writeBinary(source, matrix);
+            long[][] expected = Main.transposeMatrix(matrix);
+            for (int tileSize : tileSizes) {
+                Path target = directory.resolve("transposed-" + m + "-" + tileSize + ".bin");
+                try (MappedMatrix mapped = MappedMatrix.open(source);
+                     MappedMatrix transposed = mapped.transposeTo(target, tileSize)) {
+                    assertEquals(matrix[0].length, transposed.rows());
+                    assertEquals(matrix.length, transposed.cols());
+                    assertMatrixEquals(expected, MatrixFiles.readBinary(target));
+                }
+            }
+        }
+    }
+
+    // Одиничні рядки й стовпці, крайні значення і довгі рядки результату.
+    private static long[][][] matrices() {
+        return new long[][][]{
+                {{Long.MIN_VALUE}},
+                {{1, -2, 3}},
+                {{1}, {-2}, {3}},
+                {{Long.MAX_VALUE, Long.MIN_VALUE}, {0, -1}, {7, 7}},
+                random(17, 31),
+                random(10_000, 3)
+        };
+    }
+
+    private static long[][] random(int rows, int cols) {
+        long[][] matrix = new long[rows][cols];
+        for (long[] row : matrix) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = RANDOM.nextLong();
+            }
+        }
+        return matrix;
+    }
+
+    private static void assertMatrixEquals(long[][] expected, long[][] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual[i], "рядок " + i);
+        }
+    }
+}
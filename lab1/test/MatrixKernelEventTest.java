@@ -0,0 +1,48 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatrixKernelEventTest {
+
+    // Кожен виклик ядра записує рівно одну подію, навіть коли він використовує інше публічне ядро.
+    @Test
+    void everyAccumulationModeRecordsOneEvent() throws IOException {
+        long[][] matrix = {
+                {4, 8, 2},
+                {6, 3, 9},
+                {7, 1, 5}
+        };
+        for (AccumulationMode mode : AccumulationMode.values()) {
+            List<String> kernels = recordKernels(() -> Main.calculateSumOfMinElements(matrix, mode));
+            assertEquals(List.of("calculateSumOfMinElements." + mode), kernels);
+        }
+        assertEquals(List.of("findColumnMins"), recordKernels(() -> Main.findColumnMins(matrix)));
+    }
+
+    private static List<String> recordKernels(Runnable action) throws IOException {
+        Path file = Files.createTempFile("lab1-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("lab1.MatrixKernel").withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            List<String> kernels = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                kernels.add(event.getString("kernel"));
+            }
+            return kernels;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
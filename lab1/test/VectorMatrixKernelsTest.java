@@ -0,0 +1,119 @@
+import jdk.incubator.vector.LongVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VectorMatrixKernelsTest {
+    private static final int LANES = LongVector.SPECIES_PREFERRED.length();
+    private static final MatrixKernels VECTOR = new VectorMatrixKernels();
+
+    @Test
+    void matchesScalarKernelsAroundLaneBoundaries() {
+        SplittableRandom random = new SplittableRandom(11);
+        int[] sizes = {1, 2, 3, LANES - 1, LANES, LANES + 1, 2 * LANES - 1, 2 * LANES + 1, 3 * LANES + 3, 101};
+        for (int rows : sizes) {
+            for (int cols : sizes) {
+                if (rows < 1 || cols < 1) {
+                    continue;
+                }
+                assertMatchesScalar(randomMatrix(random, rows, cols));
+            }
+        }
+    }
+
+    @Test
+    void matchesScalarKernelsWithExtremeValues() {
+        SplittableRandom random = new SplittableRandom(12);
+        for (int cols : new int[]{1, LANES + 1, 2 * LANES + 3}) {
+            long[][] matrix = new long[5][cols];
+            for (long[] row : matrix) {
+                for (int j = 0; j < cols; j++) {
+                    row[j] = switch (random.nextInt(3)) {
+                        case 0 -> Long.MIN_VALUE;
+                        case 1 -> Long.MAX_VALUE;
+                        default -> random.nextLong();
+                    };
+                }
+            }
+            assertMatchesScalar(matrix);
+        }
+
+        long[][] allMax = new long[3][2 * LANES + 1];
+        for (long[] row : allMax) {
+            Arrays.fill(row, Long.MAX_VALUE);
+        }
+        assertMatchesScalar(allMax);
+
+        long[][] allMin = new long[3][2 * LANES + 1];
+        for (long[] row : allMin) {
+            Arrays.fill(row, Long.MIN_VALUE);
+        }
+        assertMatchesScalar(allMin);
+    }
+
+    @Test
+    void columnRangesMatchScalarKernels() {
+        long[][] matrix = randomMatrix(new SplittableRandom(13), 9, 4 * LANES + 5);
+        int cols = matrix[0].length;
+        for (int from = 0; from < cols; from += 3) {
+            for (int to = from + 1; to <= cols; to += 5) {
+                assertArrayEquals(Arrays.copyOfRange(columnMins(matrix), from, to),
+                        VECTOR.columnMins(matrix, from, to), "[" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    @Test
+    void mainUsesKernelsConsistentlyInEveryMode() {
+        long[][] matrix = randomMatrix(new SplittableRandom(14), 7, 3 * LANES + 1);
+        long expected = Main.calculateSumOfMinElementsScalar(matrix);
+        assertEquals(expected, Main.calculateSumOfMinElements(matrix));
+        assertArrayEquals(columnMins(matrix), Main.findColumnMins(matrix));
+        assertArrayEquals(rowMins(matrix), Main.findRowMins(matrix));
+        for (AccumulationMode mode : AccumulationMode.values()) {
+            assertEquals(expected, Main.calculateSumOfMinElements(matrix, mode).longValueExact(), mode.name());
+        }
+    }
+
+    private static void assertMatchesScalar(long[][] matrix) {
+        String size = matrix.length + "x" + matrix[0].length;
+        long[] mins = columnMins(matrix);
+        long sum = 0;
+        for (long min : mins) {
+            sum += min;
+        }
+        assertArrayEquals(mins, VECTOR.columnMins(matrix, 0, matrix[0].length), size);
+        assertArrayEquals(rowMins(matrix), VECTOR.rowMins(matrix), size);
+        assertEquals(sum, Main.calculateSumOfMinElements(matrix), size);
+        assertEquals(Main.calculateSumOfMinElementsScalar(matrix), Main.calculateSumOfMinElements(matrix), size);
+    }
+
+    private static long[] columnMins(long[][] matrix) {
+        long[] mins = new long[matrix[0].length];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        for (long[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                mins[j] = Math.min(mins[j], row[j]);
+            }
+        }
+        return mins;
+    }
+
+    private static long[] rowMins(long[][] matrix) {
+        return Arrays.stream(matrix).mapToLong(row -> Arrays.stream(row).min().orElseThrow()).toArray();
+    }
+
+    private static long[][] randomMatrix(SplittableRandom random, int rows, int cols) {
+        long[][] matrix = new long[rows][cols];
+        for (long[] row : matrix) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = random.nextLong(-1_000_000, 1_000_000);
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WideSumTest {
+
+    @Test
+    void matchesBigIntegerForRandomValues() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < 200; round++) {
+            WideSum sum = new WideSum();
+            BigInteger expected = BigInteger.ZERO;
+            int count = random.nextInt(1, 2000);
+            for (int i = 0; i < count; i++) {
+                long value = switch (random.nextInt(4)) {
+                    case 0 -> Long.MAX_VALUE - random.nextInt(1000);
+                    case 1 -> Long.MIN_VALUE + random.nextInt(1000);
+                    case 2 -> random.nextInt(-1000, 1000);
+                    default -> random.nextLong();
+                };
+                sum.add(value);
+                expected = expected.add(BigInteger.valueOf(value));
+            }
+            assertEquals(expected, sum.toBigInteger());
+            assertEquals(expected.bitLength() < Long.SIZE, sum.fitsInLong());
+            assertEquals(expected.toString(), sum.toString());
+        }
+    }
+
+    @Test
+    void repeatedExtremesOverflowBothWays() {
+        WideSum max = new WideSum();
+        WideSum min = new WideSum();
+        for (int i = 0; i < 10_000; i++) {
+            max.add(Long.MAX_VALUE);
+            min.add(Long.MIN_VALUE);
+        }
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(10_000)), max.toBigInteger());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE).multiply(BigInteger.valueOf(10_000)), min.toBigInteger());
+
+        max.add(min);
+        assertEquals(BigInteger.valueOf(-10_000), max.toBigInteger());
+        assertTrue(max.fitsInLong());
+        assertEquals(-10_000, max.longValueExact());
+    }
+
+    @Test
+    void mergedPartialSumsMatchSequentialSum() {
+        SplittableRandom random = new SplittableRandom(7);
+        WideSum total = new WideSum();
+        WideSum merged = new WideSum();
+        for (int part = 0; part < 16; part++) {
+            WideSum partial = new WideSum();
+            for (int i = 0; i < 500; i++) {
+                long value = random.nextBoolean() ? Long.MAX_VALUE : random.nextLong();
+                partial.add(value);
+                total.add(value);
+            }
+            merged.add(partial);
+        }
+        assertEquals(total.toBigInteger(), merged.toBigInteger());
+    }
+
+    @Test
+    void longValueExactThrowsWhenSumDoesNotFit() {
+        WideSum sum = new WideSum();
+        sum.add(Long.MAX_VALUE);
+        sum.add(1);
+        assertFalse(sum.fitsInLong());
+        assertThrows(ArithmeticException.class, sum::longValueExact);
+    }
+}
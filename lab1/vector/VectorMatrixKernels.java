@@ -0,0 +1,70 @@
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD-реалізації мінімумів по стовпцях і рядках матриці на основі Vector API.
+ * <p>
+ * Стовпцеві мінімуми рахуються рядок за рядком: кожен рядок порівнюється з масивом
+ * поточних мінімумів цілими векторами, тому доступ до пам'яті лишається послідовним.
+ * Транспонування не векторизується, бо для {@code long[][]} воно зводиться до
+ * gather/scatter між окремими масивами і не дає виграшу.
+ * <p>
+ * Клас компілюється лише з {@code --add-modules jdk.incubator.vector}, тому лежить окремо від
+ * {@code lab1/src}; {@link Main} створює його через рефлексію.
+ */
+final class VectorMatrixKernels implements MatrixKernels {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean isProfitable() {
+        return SPECIES.length() > 1;
+    }
+
+    @Override
+    public long[] columnMins(long[][] matrix, int from, int to) {
+        int width = to - from;
+        long[] mins = new long[width];
+        Arrays.fill(mins, Long.MAX_VALUE);
+
+        int bound = SPECIES.loopBound(width);
+        for (long[] row : matrix) {
+            int j = 0;
+            for (; j < bound; j += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, row, from + j)
+                        .min(LongVector.fromArray(SPECIES, mins, j))
+                        .intoArray(mins, j);
+            }
+            for (; j < width; j++) {
+                if (row[from + j] < mins[j]) {
+                    mins[j] = row[from + j];
+                }
+            }
+        }
+        return mins;
+    }
+
+    @Override
+    public long[] rowMins(long[][] matrix) {
+        long[] mins = new long[matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            long[] row = matrix[i];
+            int bound = SPECIES.loopBound(row.length);
+            LongVector acc = LongVector.broadcast(SPECIES, Long.MAX_VALUE);
+            int j = 0;
+            for (; j < bound; j += SPECIES.length()) {
+                acc = acc.min(LongVector.fromArray(SPECIES, row, j));
+            }
+            long min = acc.reduceLanes(VectorOperators.MIN);
+            for (; j < row.length; j++) {
+                if (row[j] < min) {
+                    min = row[j];
+                }
+            }
+            mins[i] = min;
+        }
+        return mins;
+    }
+}
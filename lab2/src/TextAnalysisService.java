@@ -0,0 +1,14 @@
+import textservice.ServiceLauncher;
+
+/**
+ * Мережевий сервіс, що сортує слова кожного отриманого документа за кількістю голосних.
+ * Протокол і параметри запуску описані в {@code textservice.AnalysisServer} та
+ * {@code textservice.ServiceLauncher}.
+ */
+public class TextAnalysisService {
+
+    public static void main(String[] args) throws Exception {
+        ServiceLauncher.launch("lab2 vowel sort service", args,
+                document -> Main.sortWordsByVowelCount(new StringBuffer(document)).toString());
+    }
+}
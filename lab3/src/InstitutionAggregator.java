@@ -0,0 +1,154 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Групування навчальних закладів за містом або періодом заснування з підрахунком
+ * {@link InstitutionStats} для кожної групи.
+ * <p>
+ * Масив ділиться на частини фіксованого розміру, кожна частина накопичує показники у
+ * власних примітивних акумуляторах, а в кінці частини послідовно об'єднуються в порядку
+ * їх розташування в масиві. Розбиття не залежить від кількості потоків, тому паралельний
+ * і послідовний режими дають однакові результати, включно із сумами рейтингу.
+ */
+final class InstitutionAggregator {
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private InstitutionAggregator() {
+    }
+
+    public static Map<String, InstitutionStats> aggregateByCity(EducationalInstitution[] institutions, boolean parallel) {
+        List<Map<String, InstitutionStats>> parts = chunks(institutions, parallel)
+                .mapToObj(chunk -> {
+                    Map<String, InstitutionStats> groups = new HashMap<>();
+                    int to = chunk + Math.min(CHUNK_SIZE, institutions.length - chunk);
+                    for (int i = chunk; i < to; i++) {
+                        EducationalInstitution institution = institutions[i];
+                        InstitutionStats stats = groups.get(institution.getCity());
+                        if (stats == null) {
+                            stats = new InstitutionStats();
+                            groups.put(institution.getCity(), stats);
+                        }
+                        stats.add(institution);
+                    }
+                    return groups;
+                })
+                .toList();
+
+        Map<String, InstitutionStats> result = new HashMap<>();
+        for (Map<String, InstitutionStats> part : parts) {
+            part.forEach((city, stats) -> result.merge(city, stats, (a, b) -> {
+                a.merge(b);
+                return a;
+            }));
+        }
+        return result;
+    }
+
+    /**
+     * Групує заклади за періодами заснування довжиною {@code bucketWidth} років.
+     * Ключ результату — перший рік періоду.
+     */
+    public static Map<Integer, InstitutionStats> aggregateByYearBucket(EducationalInstitution[] institutions,
+                                                                      int bucketWidth, boolean parallel) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Довжина періоду повинна бути додатною");
+        }
+
+        List<YearBuckets> parts = chunks(institutions, parallel)
+                .mapToObj(chunk -> {
+                    YearBuckets buckets = new YearBuckets();
+                    int to = chunk + Math.min(CHUNK_SIZE, institutions.length - chunk);
+                    for (int i = chunk; i < to; i++) {
+                        EducationalInstitution institution = institutions[i];
+                        buckets.get(Math.floorDiv(institution.getEstablishedYear(), bucketWidth) * bucketWidth)
+                                .add(institution);
+                    }
+                    return buckets;
+                })
+                .toList();
+
+        YearBuckets merged = new YearBuckets();
+        for (YearBuckets part : parts) {
+            merged.merge(part);
+        }
+
+        Map<Integer, InstitutionStats> result = new TreeMap<>();
+        for (int i = 0; i < merged.keys.length; i++) {
+            if (merged.stats[i] != null) {
+                result.put(merged.keys[i], merged.stats[i]);
+            }
+        }
+        return result;
+    }
+
+    private static IntStream chunks(EducationalInstitution[] institutions, boolean parallel) {
+        if (institutions == null) {
+            throw new IllegalArgumentException("Масив навчальних закладів не може бути порожнім");
+        }
+        // Діапазон індексів частин має відомий розмір, тому паралельний потік ділиться навпіл,
+        // а не відрізає частини по одній, як IntStream.iterate.
+        int chunkCount = (int) (((long) institutions.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        IntStream chunks = IntStream.range(0, chunkCount);
+        return (parallel ? chunks.parallel() : chunks).map(index -> index * CHUNK_SIZE);
+    }
+
+    // Хеш-таблиця з відкритою адресацією за int-ключем, щоб не упаковувати рік для кожного запису.
+    private static final class YearBuckets {
+        private int[] keys = new int[16];
+        private InstitutionStats[] stats = new InstitutionStats[16];
+        private int size;
+
+        InstitutionStats get(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (stats[slot] != null) {
+                if (keys[slot] == key) {
+                    return stats[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            InstitutionStats created = new InstitutionStats();
+            keys[slot] = key;
+            stats[slot] = created;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return created;
+        }
+
+        void merge(YearBuckets other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.stats[i] != null) {
+                    get(other.keys[i]).merge(other.stats[i]);
+                }
+            }
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            InstitutionStats[] oldStats = stats;
+            keys = new int[oldKeys.length * 2];
+            stats = new InstitutionStats[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldStats[i] != null) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (stats[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    stats[slot] = oldStats[i];
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
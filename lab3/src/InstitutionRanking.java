@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Запити «перші k» над навчальними закладами без повного сортування.
+ * <p>
+ * Потокові варіанти проходять дані один раз і тримають лише обмежену купу з k
+ * елементів на групу, тому працюють за O(n log k) часу та O(k) пам'яті навіть для
+ * потоків, що не вміщуються в пам'ять. Для масивів є варіант з частковим quickselect.
+ * Результати впорядковані за переданим компаратором: першим іде «найкращий» елемент.
+ */
+final class InstitutionRanking {
+    static final Comparator<EducationalInstitution> OLDEST_LARGEST =
+            Comparator.comparingInt(EducationalInstitution::getEstablishedYear)
+                    .thenComparing(Comparator.comparingInt(EducationalInstitution::getStudentCount).reversed());
+
+    static final Comparator<EducationalInstitution> BEST_RATED =
+            Comparator.comparingDouble(EducationalInstitution::getRating).reversed();
+
+    private InstitutionRanking() {
+    }
+
+    public static <T> List<T> topK(Stream<T> items, int k, Comparator<? super T> order) {
+        checkK(k);
+        return items.collect(() -> new BoundedHeap<T>(k, order), BoundedHeap::offer, BoundedHeap::merge)
+                .toSortedList();
+    }
+
+    public static <K, T> Map<K, List<T>> topKPerGroup(Stream<T> items, Function<? super T, ? extends K> groupBy,
+                                                      int k, Comparator<? super T> order) {
+        checkK(k);
+        Map<K, BoundedHeap<T>> heaps = items.collect(HashMap::new,
+                (groups, item) -> groups.computeIfAbsent(groupBy.apply(item), key -> new BoundedHeap<>(k, order))
+                        .offer(item),
+                (left, right) -> right.forEach((key, heap) -> left.merge(key, heap, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                })));
+
+        Map<K, List<T>> result = new HashMap<>();
+        heaps.forEach((key, heap) -> result.put(key, heap.toSortedList()));
+        return result;
+    }
+
+    /**
+     * Переставляє масив так, що на перших k позиціях опиняються k найкращих елементів
+     * у відсортованому порядку, решта масиву лишається невпорядкованою. Очікуваний час O(n + k log k).
+     */
+    public static <T> List<T> selectTopK(T[] items, int k, Comparator<? super T> order) {
+        checkK(k);
+        int limit = Math.min(k, items.length);
+        if (limit == 0) {
+            return Collections.emptyList();
+        }
+
+        int left = 0;
+        int right = items.length - 1;
+        while (left < right) {
+            int[] equal = partition(items, left, right,
+                    left + ThreadLocalRandom.current().nextInt(right - left + 1), order);
+            if (limit - 1 < equal[0]) {
+                right = equal[0] - 1;
+            } else if (limit - 1 > equal[1]) {
+                left = equal[1] + 1;
+            } else {
+                break;
+            }
+        }
+
+        Arrays.sort(items, 0, limit, order);
+        return new ArrayList<>(Arrays.asList(items).subList(0, limit));
+    }
+
+    // Розбиття на три частини (Dutch national flag): елементи, рівні опорному, збираються
+    // посередині й далі не розглядаються, тому багато однакових ключів не погіршує час до O(n²).
+    // Повертає межі [перший, останній] частини з рівними елементами.
+    private static <T> int[] partition(T[] items, int left, int right, int pivotIndex, Comparator<? super T> order) {
+        T pivot = items[pivotIndex];
+        int lower = left;
+        int upper = right;
+        int i = left;
+        while (i <= upper) {
+            int comparison = order.compare(items[i], pivot);
+            if (comparison < 0) {
+                swap(items, lower++, i++);
+            } else if (comparison > 0) {
+                swap(items, i, upper--);
+            } else {
+                i++;
+            }
+        }
+        return new int[]{lower, upper};
+    }
+
+    private static <T> void swap(T[] items, int i, int j) {
+        T tmp = items[i];
+        items[i] = items[j];
+        items[j] = tmp;
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Кількість елементів не може бути від'ємною");
+        }
+    }
+
+    // Купа, на вершині якої найгірший із k збережених елементів.
+    private static final class BoundedHeap<T> {
+        private final int capacity;
+        private final Comparator<? super T> order;
+        private final PriorityQueue<T> heap;
+
+        BoundedHeap(int capacity, Comparator<? super T> order) {
+            this.capacity = capacity;
+            this.order = order;
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(capacity, 1024)), order.reversed());
+        }
+
+        void offer(T item) {
+            if (heap.size() < capacity) {
+                heap.add(item);
+            } else if (capacity > 0 && order.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+
+        void merge(BoundedHeap<T> other) {
+            for (T item : other.heap) {
+                offer(item);
+            }
+        }
+
+        List<T> toSortedList() {
+            List<T> result = new ArrayList<>(heap);
+            result.sort(order);
+            return result;
+        }
+    }
+}
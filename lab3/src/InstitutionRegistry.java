@@ -0,0 +1,216 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Реєстр навчальних закладів з індексами для швидкого пошуку.
+ * <p>
+ * Пошук за повною рівністю об'єкта виконується через хеш-індекс за O(1), вибірка за
+ * містом — через хеш-індекс міст, а діапазонні запити за роком заснування та рейтингом —
+ * через відсортовані індекси за O(log n + k). Читання захищені спільним блокуванням,
+ * тому з реєстру можуть одночасно читати кілька потоків.
+ * <p>
+ * Заклади незмінні, тому оновлення закладу — це заміна його новим об'єктом через
+ * {@link #set(int, EducationalInstitution)}, яка переносить його між ключами індексів.
+ */
+final class InstitutionRegistry {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<EducationalInstitution> institutions = new ArrayList<>();
+    private final Map<EducationalInstitution, Integer> positions = new HashMap<>();
+    private final Map<String, List<EducationalInstitution>> byCity = new HashMap<>();
+    private final NavigableMap<Integer, List<EducationalInstitution>> byYear = new TreeMap<>();
+    private final NavigableMap<Double, List<EducationalInstitution>> byRating = new TreeMap<>();
+
+    public InstitutionRegistry() {
+    }
+
+    public InstitutionRegistry(EducationalInstitution[] institutions) {
+        for (EducationalInstitution institution : institutions) {
+            add(institution);
+        }
+    }
+
+    public void add(EducationalInstitution institution) {
+        if (institution == null) {
+            throw new IllegalArgumentException("Навчальний заклад не може бути порожнім");
+        }
+
+        lock.writeLock().lock();
+        try {
+            positions.putIfAbsent(institution, institutions.size());
+            institutions.add(institution);
+            index(institution);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Замінює заклад на позиції {@code index} і повертає попередній, так само як {@code List.set}.
+     * Індекси оновлюються за O(log n + k); позиція в хеш-індексі шукається заново лише тоді,
+     * коли замінений заклад мав рівних собі далі у списку.
+     */
+    public EducationalInstitution set(int index, EducationalInstitution institution) {
+        if (institution == null) {
+            throw new IllegalArgumentException("Навчальний заклад не може бути порожнім");
+        }
+
+        lock.writeLock().lock();
+        try {
+            EducationalInstitution previous = institutions.set(index, institution);
+            unindex(previous);
+            index(institution);
+            if (positions.get(previous) == index) {
+                positions.remove(previous);
+                for (int i = index + 1; i < institutions.size(); i++) {
+                    if (institutions.get(i).equals(previous)) {
+                        positions.put(previous, i);
+                        break;
+                    }
+                }
+            }
+            positions.merge(institution, index, Math::min);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Видаляє перший заклад, рівний {@code target}, так само як {@code List.remove(Object)}.
+     * Позиції наступних закладів зсуваються, тому видалення займає O(n).
+     *
+     * @return {@code true}, якщо такий заклад був у реєстрі
+     */
+    public boolean remove(EducationalInstitution target) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(target);
+            if (position == null) {
+                return false;
+            }
+            unindex(institutions.remove((int) position));
+            positions.clear();
+            for (int i = 0; i < institutions.size(); i++) {
+                positions.putIfAbsent(institutions.get(i), i);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return institutions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Повертає позицію першого доданого закладу, рівного {@code target}, або -1,
+     * так само як {@code List.indexOf}.
+     */
+    public int indexOf(EducationalInstitution target) {
+        lock.readLock().lock();
+        try {
+            Integer position = positions.get(target);
+            return position == null ? -1 : position;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public EducationalInstitution get(int index) {
+        lock.readLock().lock();
+        try {
+            return institutions.get(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(EducationalInstitution target) {
+        return indexOf(target) != -1;
+    }
+
+    public List<EducationalInstitution> findByCity(String city) {
+        lock.readLock().lock();
+        try {
+            List<EducationalInstitution> found = byCity.get(city);
+            return found == null ? Collections.emptyList() : List.copyOf(found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<EducationalInstitution> findByEstablishedYear(int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("Початок діапазону не може бути більшим за кінець");
+        }
+
+        lock.readLock().lock();
+        try {
+            return flatten(byYear.subMap(fromYear, true, toYear, true).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<EducationalInstitution> findByRating(double minRating, double maxRating) {
+        if (Double.isNaN(minRating) || Double.isNaN(maxRating) || minRating > maxRating) {
+            throw new IllegalArgumentException("Некоректний діапазон рейтингу");
+        }
+
+        lock.readLock().lock();
+        try {
+            return flatten(byRating.subMap(minRating, true, maxRating, true).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(EducationalInstitution institution) {
+        byCity.computeIfAbsent(institution.getCity(), key -> new ArrayList<>()).add(institution);
+        byYear.computeIfAbsent(institution.getEstablishedYear(), key -> new ArrayList<>()).add(institution);
+        byRating.computeIfAbsent(institution.getRating(), key -> new ArrayList<>()).add(institution);
+    }
+
+    private void unindex(EducationalInstitution institution) {
+        unindex(byCity, institution.getCity(), institution);
+        unindex(byYear, institution.getEstablishedYear(), institution);
+        unindex(byRating, institution.getRating(), institution);
+    }
+
+    // Видаляє саме цей об'єкт, а не рівний йому: рівні заклади в групі — різні записи реєстру.
+    private static <K> void unindex(Map<K, List<EducationalInstitution>> index, K key,
+                                    EducationalInstitution institution) {
+        List<EducationalInstitution> group = index.get(key);
+        for (int i = 0; i < group.size(); i++) {
+            if (group.get(i) == institution) {
+                group.remove(i);
+                break;
+            }
+        }
+        if (group.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static List<EducationalInstitution> flatten(Collection<List<EducationalInstitution>> groups) {
+        List<EducationalInstitution> result = new ArrayList<>();
+        for (List<EducationalInstitution> group : groups) {
+            result.addAll(group);
+        }
+        return result;
+    }
+}
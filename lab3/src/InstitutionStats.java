@@ -0,0 +1,108 @@
+/**
+ * Агреговані показники групи навчальних закладів: кількість, сума, мінімум і максимум
+ * кількості студентів та рейтингу. Усі значення зберігаються в примітивних полях.
+ */
+final class InstitutionStats {
+    private long count;
+    private long studentCountSum;
+    private int studentCountMin = Integer.MAX_VALUE;
+    private int studentCountMax = Integer.MIN_VALUE;
+    private double ratingSum;
+    private double ratingMin = Double.POSITIVE_INFINITY;
+    private double ratingMax = Double.NEGATIVE_INFINITY;
+
+    void add(EducationalInstitution institution) {
+        int students = institution.getStudentCount();
+        double rating = institution.getRating();
+        count++;
+        studentCountSum += students;
+        studentCountMin = Math.min(studentCountMin, students);
+        studentCountMax = Math.max(studentCountMax, students);
+        ratingSum += rating;
+        ratingMin = Math.min(ratingMin, rating);
+        ratingMax = Math.max(ratingMax, rating);
+    }
+
+    void merge(InstitutionStats other) {
+        count += other.count;
+        studentCountSum += other.studentCountSum;
+        studentCountMin = Math.min(studentCountMin, other.studentCountMin);
+        studentCountMax = Math.max(studentCountMax, other.studentCountMax);
+        ratingSum += other.ratingSum;
+        ratingMin = Math.min(ratingMin, other.ratingMin);
+        ratingMax = Math.max(ratingMax, other.ratingMax);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getStudentCountSum() {
+        return studentCountSum;
+    }
+
+    public int getStudentCountMin() {
+        return studentCountMin;
+    }
+
+    public int getStudentCountMax() {
+        return studentCountMax;
+    }
+
+    public double getStudentCountAverage() {
+        return count == 0 ? 0 : (double) studentCountSum / count;
+    }
+
+    public double getRatingSum() {
+        return ratingSum;
+    }
+
+    public double getRatingMin() {
+        return ratingMin;
+    }
+
+    public double getRatingMax() {
+        return ratingMax;
+    }
+
+    public double getRatingAverage() {
+        return count == 0 ? 0 : ratingSum / count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstitutionStats that = (InstitutionStats) o;
+        return count == that.count &&
+                studentCountSum == that.studentCountSum &&
+                studentCountMin == that.studentCountMin &&
+                studentCountMax == that.studentCountMax &&
+                Double.compare(that.ratingSum, ratingSum) == 0 &&
+                Double.compare(that.ratingMin, ratingMin) == 0 &&
+                Double.compare(that.ratingMax, ratingMax) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(count);
+        result = 31 * result + Long.hashCode(studentCountSum);
+        result = 31 * result + Double.hashCode(ratingSum);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "InstitutionStats{" +
+                "count=" + count +
+                ", studentCount(sum=" + studentCountSum +
+                ", avg=" + getStudentCountAverage() +
+                ", min=" + studentCountMin +
+                ", max=" + studentCountMax +
+                "), rating(sum=" + ratingSum +
+                ", avg=" + getRatingAverage() +
+                ", min=" + ratingMin +
+                ", max=" + ratingMax +
+                ")}";
+    }
+}
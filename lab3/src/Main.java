@@ -1,19 +1,36 @@
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
-class EducationalInstitution {
-    private String name;
-    private String city;
-    private int establishedYear;
-    private int studentCount;
-    private double rating;
+final class EducationalInstitution {
+    private final String name;
+    private final String city;
+    private final int establishedYear;
+    private final int studentCount;
+    private final double rating;
+    private final int hash;
 
     public EducationalInstitution(String name, String city, int establishedYear, int studentCount, double rating) {
-        this.name = name;
-        this.city = city;
+        this.name = StringPool.intern(name);
+        this.city = StringPool.intern(city);
         this.establishedYear = establishedYear;
         this.studentCount = studentCount;
         this.rating = rating;
+        this.hash = computeHash();
+    }
+
+    // Те саме значення, що й Objects.hash(name, city, establishedYear, studentCount, rating),
+    // але без масиву varargs та упакування полів.
+    private int computeHash() {
+        int result = 1;
+        result = 31 * result + (name == null ? 0 : name.hashCode());
+        result = 31 * result + (city == null ? 0 : city.hashCode());
+        result = 31 * result + Integer.hashCode(establishedYear);
+        result = 31 * result + Integer.hashCode(studentCount);
+        result = 31 * result + Double.hashCode(rating);
+        return result;
     }
 
     public String getName() {
@@ -41,6 +58,7 @@ class EducationalInstitution {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         EducationalInstitution that = (EducationalInstitution) o;
+        if (hash != that.hash) return false;
         return establishedYear == that.establishedYear &&
                 studentCount == that.studentCount &&
                 Double.compare(that.rating, rating) == 0 &&
@@ -50,7 +68,7 @@ class EducationalInstitution {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, city, establishedYear, studentCount, rating);
+        return hash;
     }
 
     @Override
@@ -67,6 +85,10 @@ class EducationalInstitution {
 
 public class Main {
 
+    static final PackedKeySorter<EducationalInstitution> BY_YEAR_THEN_STUDENT_COUNT_DESC =
+            new PackedKeySorter<>(i -> PackedKeySorter.packInts(
+                    i.getEstablishedYear(), true, i.getStudentCount(), false));
+
     public static void main(String[] args) {
         EducationalInstitution[] institutions = {
                 new EducationalInstitution("University A", "City X", 2000, 15000, 4.5),
@@ -76,13 +98,7 @@ public class Main {
                 new EducationalInstitution("School E", "City Y", 2000, 3000, 4.2)
         };
 
-        Arrays.sort(institutions, (i1, i2) -> {
-            int yearComparison = Integer.compare(i1.getEstablishedYear(), i2.getEstablishedYear());
-            if (yearComparison == 0) {
-                return Integer.compare(i2.getStudentCount(), i1.getStudentCount());
-            }
-            return yearComparison;
-        });
+        BY_YEAR_THEN_STUDENT_COUNT_DESC.sort(institutions);
 
         System.out.println("Відсортований масив навчальних закладів:");
         for (EducationalInstitution institution : institutions) {
@@ -90,7 +106,8 @@ public class Main {
         }
 
         EducationalInstitution target = new EducationalInstitution("Academy D", "City X", 2005, 12000, 4.3);
-        int index = Arrays.asList(institutions).indexOf(target);
+        InstitutionRegistry registry = new InstitutionRegistry(institutions);
+        int index = registry.indexOf(target);
 
         if (index != -1) {
             System.out.println("\nЗнайдений об'єкт:");
@@ -98,5 +115,22 @@ public class Main {
         } else {
             System.out.println("\nОб'єкт не знайдено у масиві.");
         }
+
+        Map<String, List<EducationalInstitution>> bestPerCity = InstitutionRanking.topKPerGroup(
+                Arrays.stream(institutions), EducationalInstitution::getCity, 1, InstitutionRanking.BEST_RATED);
+
+        System.out.println("\nНайкращий за рейтингом заклад у кожному місті:");
+        for (Map.Entry<String, List<EducationalInstitution>> entry : new TreeMap<>(bestPerCity).entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue().get(0));
+        }
+
+        Map<String, InstitutionStats> statsByCity = InstitutionAggregator.aggregateByCity(institutions, true);
+
+        System.out.println("\nПоказники закладів за містами:");
+        for (Map.Entry<String, InstitutionStats> entry : new TreeMap<>(statsByCity).entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+        System.out.println("Паралельний підрахунок збігається з послідовним: "
+                + statsByCity.equals(InstitutionAggregator.aggregateByCity(institutions, false)));
     }
 }
@@ -0,0 +1,107 @@
+import java.util.function.ToLongFunction;
+
+/**
+ * Сортування масиву об'єктів за ключем, упакованим у {@code long}.
+ * <p>
+ * Для кожного елемента один раз обчислюється ключ, після чого сортується пара масивів
+ * {@code long[]} ключів та {@code int[]} індексів порозрядним сортуванням (LSD, по 8 біт),
+ * а об'єкти переставляються за отриманими індексами. Сортування стабільне, тому дає той
+ * самий порядок, що й {@code Arrays.sort} з еквівалентним компаратором.
+ */
+final class PackedKeySorter<T> {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    private final ToLongFunction<? super T> keyExtractor;
+
+    PackedKeySorter(ToLongFunction<? super T> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Функція ключа не може бути порожньою");
+        }
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Пакує два {@code int}-ключі в один {@code long}, порядок якого збігається з
+     * порівнянням спочатку за {@code primary}, а потім за {@code secondary}.
+     */
+    static long packInts(int primary, boolean primaryAscending, int secondary, boolean secondaryAscending) {
+        long high = primaryAscending ? primary : ~primary;
+        long low = (secondaryAscending ? secondary ^ Integer.MIN_VALUE : secondary ^ Integer.MAX_VALUE) & 0xFFFFFFFFL;
+        return (high << 32) | low;
+    }
+
+    void sort(T[] items) {
+        int n = items.length;
+        if (n < 2) {
+            return;
+        }
+
+        long[] keys = new long[n];
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyExtractor.applyAsLong(items[i]) ^ Long.MIN_VALUE;
+            indices[i] = i;
+        }
+
+        radixSort(keys, indices);
+
+        Object[] source = items.clone();
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) source[indices[i]];
+            items[i] = item;
+        }
+    }
+
+    // Ключі порівнюються як беззнакові, тому знаковий біт інвертується до виклику.
+    static void radixSort(long[] keys, int[] indices) {
+        int n = keys.length;
+        int[][] counts = new int[PASSES][RADIX];
+        for (long key : keys) {
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        long[] sourceKeys = keys;
+        int[] sourceIndices = indices;
+        long[] targetKeys = new long[n];
+        int[] targetIndices = new int[n];
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] count = counts[pass];
+            if (count[(int) (sourceKeys[0] >>> shift) & (RADIX - 1)] == n) {
+                continue;
+            }
+
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int c = count[digit];
+                count[digit] = offset;
+                offset += c;
+            }
+
+            for (int i = 0; i < n; i++) {
+                long key = sourceKeys[i];
+                int position = count[(int) (key >>> shift) & (RADIX - 1)]++;
+                targetKeys[position] = key;
+                targetIndices[position] = sourceIndices[i];
+            }
+
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapIndices = sourceIndices;
+            sourceIndices = targetIndices;
+            targetIndices = swapIndices;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, n);
+            System.arraycopy(sourceIndices, 0, indices, 0, n);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Спільний пул рядків для назв і міст навчальних закладів.
+ * <p>
+ * Однакові рядки зводяться до одного екземпляра, тому порівняння в {@code equals}
+ * зазвичай завершується на перевірці посилань, а повторювані назви міст не займають
+ * пам'ять для кожного об'єкта окремо. Пул тримає рядки лише через слабкі посилання:
+ * рядок лишається в пулі, поки на нього посилається хоча б один заклад, і видаляється
+ * збирачем сміття після цього, тому пул не росте необмежено.
+ * <p>
+ * Пул побудований на {@link ConcurrentHashMap} без спільного блокування, тому заклади,
+ * що створюються паралельно, не чекають один на одного. Записи зібраних рядків
+ * прибираються з черги посилань під час наступних викликів {@link #intern(String)}.
+ */
+final class StringPool {
+    private static final ConcurrentHashMap<PooledString, PooledString> POOL = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<String> CLEARED = new ReferenceQueue<>();
+
+    private StringPool() {
+    }
+
+    static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        expungeCleared();
+        PooledString candidate = new PooledString(value, CLEARED);
+        while (true) {
+            PooledString existing = POOL.putIfAbsent(candidate, candidate);
+            if (existing == null) {
+                return value;
+            }
+            String pooled = existing.get();
+            if (pooled != null) {
+                return pooled;
+            }
+            // Рядок зібрали між порівнянням і читанням: прибираємо запис і пробуємо ще раз.
+            POOL.remove(existing, existing);
+        }
+    }
+
+    private static void expungeCleared() {
+        Reference<? extends String> cleared;
+        while ((cleared = CLEARED.poll()) != null) {
+            POOL.remove(cleared, cleared);
+        }
+    }
+
+    /**
+     * Слабке посилання на рядок, що порівнюється за вмістом рядка. Очищене посилання
+     * дорівнює лише самому собі, тож його можна знайти й видалити з пулу.
+     */
+    private static final class PooledString extends WeakReference<String> {
+        private final int hash;
+
+        PooledString(String value, ReferenceQueue<String> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PooledString that) || hash != that.hash) {
+                return false;
+            }
+            String value = get();
+            return value != null && value.equals(that.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InstitutionAggregatorTest {
+
+    @Test
+    void parallelAggregationEqualsSequential() {
+        // Більше трьох частин по 65536 елементів, щоб об'єднувались кілька часткових результатів.
+        EducationalInstitution[] institutions = institutions(new SplittableRandom(8), 250_000);
+        for (int round = 0; round < 3; round++) {
+            assertEquals(InstitutionAggregator.aggregateByCity(institutions, false),
+                    InstitutionAggregator.aggregateByCity(institutions, true));
+            assertEquals(InstitutionAggregator.aggregateByYearBucket(institutions, 10, false),
+                    InstitutionAggregator.aggregateByYearBucket(institutions, 10, true));
+        }
+    }
+
+    @Test
+    void aggregationMatchesSinglePass() {
+        EducationalInstitution[] institutions = institutions(new SplittableRandom(9), 150_000);
+        assertStatsMatch(naive(institutions, EducationalInstitution::getCity),
+                InstitutionAggregator.aggregateByCity(institutions, true));
+        assertStatsMatch(naive(institutions, i -> Math.floorDiv(i.getEstablishedYear(), 25) * 25),
+                InstitutionAggregator.aggregateByYearBucket(institutions, 25, true));
+    }
+
+    @Test
+    void chunkBoundariesCoverEveryElementOnce() {
+        for (int n : new int[]{0, 1, 65_535, 65_536, 65_537, 131_072}) {
+            EducationalInstitution[] institutions = institutions(new SplittableRandom(n), n);
+            for (boolean parallel : new boolean[]{false, true}) {
+                assertEquals(n, InstitutionAggregator.aggregateByCity(institutions, parallel).values().stream()
+                        .mapToLong(InstitutionStats::getCount).sum());
+                assertEquals(n, InstitutionAggregator.aggregateByYearBucket(institutions, 10, parallel).values().stream()
+                        .mapToLong(InstitutionStats::getCount).sum());
+            }
+        }
+    }
+
+    @Test
+    void repeatedCallsDoNotShareState() {
+        EducationalInstitution[] institutions = institutions(new SplittableRandom(10), 1000);
+        Map<String, InstitutionStats> first = InstitutionAggregator.aggregateByCity(institutions, true);
+        Map<String, InstitutionStats> second = InstitutionAggregator.aggregateByCity(institutions, true);
+        assertEquals(first, second);
+        assertEquals(institutions.length, first.values().stream().mapToLong(InstitutionStats::getCount).sum());
+    }
+
+    private static <K> Map<K, InstitutionStats> naive(EducationalInstitution[] institutions,
+                                                     Function<EducationalInstitution, K> key) {
+        Map<K, InstitutionStats> result = new HashMap<>();
+        for (EducationalInstitution institution : institutions) {
+            result.computeIfAbsent(key.apply(institution), k -> new InstitutionStats()).add(institution);
+        }
+        return result;
+    }
+
+    // Сума рейтингу складається в іншому порядку, тому порівнюється з допуском.
+    private static <K> void assertStatsMatch(Map<K, InstitutionStats> expected, Map<K, InstitutionStats> actual) {
+        assertEquals(new TreeMap<>(expected).keySet(), new TreeMap<>(actual).keySet());
+        expected.forEach((key, stats) -> {
+            InstitutionStats other = actual.get(key);
+            assertEquals(stats.getCount(), other.getCount());
+            assertEquals(stats.getStudentCountSum(), other.getStudentCountSum());
+            assertEquals(stats.getStudentCountMin(), other.getStudentCountMin());
+            assertEquals(stats.getStudentCountMax(), other.getStudentCountMax());
+            assertEquals(stats.getRatingMin(), other.getRatingMin());
+            assertEquals(stats.getRatingMax(), other.getRatingMax());
+            assertEquals(stats.getRatingSum(), other.getRatingSum(), 1e-9 * stats.getCount());
+        });
+    }
+
+    private static EducationalInstitution[] institutions(SplittableRandom random, int n) {
+        EducationalInstitution[] institutions = new EducationalInstitution[n];
+        for (int i = 0; i < n; i++) {
+            institutions[i] = new EducationalInstitution("I" + i, "City " + random.nextInt(50),
+                    random.nextInt(-50, 2025), random.nextInt(0, 60_000), random.nextDouble(1, 5));
+        }
+        return institutions;
+    }
+}
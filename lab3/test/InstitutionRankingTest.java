@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InstitutionRankingTest {
+
+    @Test
+    void selectTopKMatchesFullSort() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int n : new int[]{1, 2, 10, 1000}) {
+            for (int distinctYears : new int[]{1, 3, n}) {
+                EducationalInstitution[] institutions = institutions(random, n, distinctYears);
+                for (int k : new int[]{0, 1, n / 2, n - 1, n, n + 5}) {
+                    assertTopK(institutions.clone(), k, InstitutionRanking.OLDEST_LARGEST);
+                    assertTopK(institutions.clone(), k, InstitutionRanking.BEST_RATED);
+                }
+            }
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void selectTopKIsLinearWithManyEqualKeys() {
+        EducationalInstitution[] institutions = new EducationalInstitution[500_000];
+        for (int i = 0; i < institutions.length; i++) {
+            institutions[i] = new EducationalInstitution("I" + i, "C", 2000, 100, 4.0);
+        }
+        for (int k : new int[]{1, institutions.length / 2, institutions.length - 1}) {
+            assertEquals(k, InstitutionRanking.selectTopK(institutions, k, InstitutionRanking.OLDEST_LARGEST).size());
+        }
+    }
+
+    @Test
+    void topKStreamMatchesSelectTopK() {
+        EducationalInstitution[] institutions = institutions(new SplittableRandom(6), 5000, 40);
+        List<EducationalInstitution> streamed =
+                InstitutionRanking.topK(Arrays.stream(institutions).parallel(), 25, InstitutionRanking.BEST_RATED);
+        List<EducationalInstitution> selected =
+                InstitutionRanking.selectTopK(institutions.clone(), 25, InstitutionRanking.BEST_RATED);
+        assertEquals(selected.size(), streamed.size());
+        for (int i = 0; i < selected.size(); i++) {
+            assertEquals(0, InstitutionRanking.BEST_RATED.compare(selected.get(i), streamed.get(i)));
+        }
+    }
+
+    private static void assertTopK(EducationalInstitution[] institutions, int k,
+                                   Comparator<EducationalInstitution> order) {
+        EducationalInstitution[] sorted = institutions.clone();
+        Arrays.sort(sorted, order);
+        List<EducationalInstitution> top = InstitutionRanking.selectTopK(institutions, k, order);
+
+        assertEquals(Math.min(k, sorted.length), top.size());
+        for (int i = 0; i < top.size(); i++) {
+            // Рівні за компаратором заклади можуть стояти в будь-якому порядку.
+            assertEquals(0, order.compare(sorted[i], top.get(i)), "k = " + k + ", i = " + i);
+        }
+    }
+
+    private static EducationalInstitution[] institutions(SplittableRandom random, int n, int distinctYears) {
+        EducationalInstitution[] institutions = new EducationalInstitution[n];
+        for (int i = 0; i < n; i++) {
+            institutions[i] = new EducationalInstitution("I" + i, "C" + random.nextInt(5),
+                    1900 + random.nextInt(distinctYears), random.nextInt(3) * 1000, random.nextInt(4) / 2.0);
+        }
+        return institutions;
+    }
+}
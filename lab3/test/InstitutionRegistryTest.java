@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstitutionRegistryTest {
+
+    @Test
+    void rangeQueriesIncludeBothBoundaries() {
+        EducationalInstitution a = new EducationalInstitution("A", "Київ", 1900, 100, 3.0);
+        EducationalInstitution b = new EducationalInstitution("B", "Київ", 1950, 200, 4.0);
+        EducationalInstitution c = new EducationalInstitution("C", "Львів", 2000, 300, 5.0);
+        InstitutionRegistry registry = new InstitutionRegistry(new EducationalInstitution[]{a, b, c});
+
+        assertEquals(List.of(a, b, c), registry.findByEstablishedYear(1900, 2000));
+        assertEquals(List.of(b), registry.findByEstablishedYear(1950, 1950));
+        assertEquals(List.of(), registry.findByEstablishedYear(1901, 1949));
+        assertEquals(List.of(a), registry.findByEstablishedYear(Integer.MIN_VALUE, 1900));
+        assertEquals(List.of(c), registry.findByEstablishedYear(2000, Integer.MAX_VALUE));
+
+        assertEquals(List.of(a, b, c), registry.findByRating(3.0, 5.0));
+        assertEquals(List.of(b), registry.findByRating(4.0, 4.0));
+        assertEquals(List.of(), registry.findByRating(Math.nextUp(4.0), Math.nextDown(5.0)));
+        assertEquals(List.of(b, c), registry.findByRating(Math.nextUp(3.0), Double.POSITIVE_INFINITY));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.findByEstablishedYear(2000, 1900));
+        assertThrows(IllegalArgumentException.class, () -> registry.findByRating(5.0, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> registry.findByRating(Double.NaN, 3.0));
+    }
+
+    @Test
+    void updateMovesInstitutionBetweenIndexKeys() {
+        EducationalInstitution before = new EducationalInstitution("КПІ", "Київ", 1898, 25000, 4.5);
+        EducationalInstitution other = new EducationalInstitution("ЛП", "Львів", 1844, 30000, 4.4);
+        InstitutionRegistry registry = new InstitutionRegistry(new EducationalInstitution[]{before, other});
+
+        EducationalInstitution after = new EducationalInstitution("КПІ", "Одеса", 1900, 25000, 4.7);
+        assertSame(before, registry.set(0, after));
+
+        assertSame(after, registry.get(0));
+        assertEquals(-1, registry.indexOf(before));
+        assertEquals(0, registry.indexOf(after));
+        assertEquals(List.of(), registry.findByCity("Київ"));
+        assertEquals(List.of(after), registry.findByCity("Одеса"));
+        assertEquals(List.of(), registry.findByEstablishedYear(1898, 1898));
+        assertEquals(List.of(after), registry.findByEstablishedYear(1900, 1900));
+        assertEquals(List.of(), registry.findByRating(4.5, 4.5));
+        assertEquals(List.of(other, after), registry.findByRating(4.4, 4.7));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void removalOfDuplicateKeepsTheLaterCopyIndexed() {
+        EducationalInstitution first = new EducationalInstitution("A", "Київ", 1900, 100, 3.0);
+        EducationalInstitution middle = new EducationalInstitution("B", "Київ", 1950, 200, 4.0);
+        EducationalInstitution copy = new EducationalInstitution("A", "Київ", 1900, 100, 3.0);
+        InstitutionRegistry registry = new InstitutionRegistry(new EducationalInstitution[]{first, middle, copy});
+
+        assertTrue(registry.remove(copy));
+        assertEquals(2, registry.size());
+        assertSame(middle, registry.get(0));
+        assertSame(copy, registry.get(1));
+        assertEquals(1, registry.indexOf(first));
+        assertEquals(0, registry.indexOf(middle));
+        assertEquals(1, registry.findByEstablishedYear(1900, 1900).size());
+        assertSame(copy, registry.findByEstablishedYear(1900, 1900).get(0));
+
+        assertTrue(registry.remove(first));
+        assertFalse(registry.contains(copy));
+        assertFalse(registry.remove(copy));
+        assertEquals(List.of(middle), registry.findByCity("Київ"));
+        assertEquals(List.of(), registry.findByRating(3.0, 3.0));
+    }
+
+    @Test
+    void randomOperationsMatchListScan() {
+        SplittableRandom random = new SplittableRandom(30);
+        String[] cities = {"Київ", "Львів", "Одеса", "Харків"};
+        InstitutionRegistry registry = new InstitutionRegistry();
+        List<EducationalInstitution> reference = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            // Малий простір значень, щоб траплялися рівні заклади і спільні ключі індексів.
+            EducationalInstitution institution = new EducationalInstitution(
+                    "I" + random.nextInt(10), cities[random.nextInt(cities.length)],
+                    1990 + random.nextInt(10), 100, random.nextInt(6) / 2.0);
+            int operation = random.nextInt(10);
+            if (operation < 4 || reference.isEmpty()) {
+                registry.add(institution);
+                reference.add(institution);
+            } else if (operation < 7) {
+                int index = random.nextInt(reference.size());
+                assertSame(reference.set(index, institution), registry.set(index, institution));
+            } else {
+                assertEquals(reference.remove(institution), registry.remove(institution));
+            }
+
+            EducationalInstitution probe = new EducationalInstitution(
+                    "I" + random.nextInt(10), cities[random.nextInt(cities.length)],
+                    1990 + random.nextInt(10), 100, random.nextInt(6) / 2.0);
+            assertEquals(reference.indexOf(probe), registry.indexOf(probe));
+            assertEquals(reference.size(), registry.size());
+
+            String city = cities[random.nextInt(cities.length)];
+            assertSameInstances(scan(reference, i -> i.getCity().equals(city)), registry.findByCity(city));
+
+            int fromYear = 1989 + random.nextInt(12);
+            int toYear = fromYear + random.nextInt(4);
+            assertSameInstances(scan(reference, i -> i.getEstablishedYear() >= fromYear && i.getEstablishedYear() <= toYear),
+                    registry.findByEstablishedYear(fromYear, toYear));
+
+            double minRating = random.nextInt(6) / 2.0;
+            double maxRating = minRating + random.nextInt(3) / 2.0;
+            assertSameInstances(scan(reference, i -> i.getRating() >= minRating && i.getRating() <= maxRating),
+                    registry.findByRating(minRating, maxRating));
+        }
+        for (int i = 0; i < reference.size(); i++) {
+            assertSame(reference.get(i), registry.get(i));
+        }
+    }
+
+    private static List<EducationalInstitution> scan(List<EducationalInstitution> institutions,
+                                                     Predicate<EducationalInstitution> filter) {
+        return institutions.stream().filter(filter).toList();
+    }
+
+    // Індекси групують заклади за ключем, тому порядок у відповіді не збігається з порядком списку;
+    // порівнюються самі об'єкти, з урахуванням повторів.
+    private static void assertSameInstances(List<EducationalInstitution> expected, List<EducationalInstitution> actual) {
+        assertEquals(expected.size(), actual.size());
+        IdentityHashMap<EducationalInstitution, Integer> counts = new IdentityHashMap<>();
+        for (EducationalInstitution institution : expected) {
+            counts.merge(institution, 1, Integer::sum);
+        }
+        for (EducationalInstitution institution : actual) {
+            assertTrue(counts.merge(institution, -1, Integer::sum) >= 0);
+        }
+    }
+}
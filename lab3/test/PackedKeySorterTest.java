@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedKeySorterTest {
+    private static final Comparator<EducationalInstitution> YEAR_THEN_STUDENT_COUNT_DESC =
+            Comparator.comparingInt(EducationalInstitution::getEstablishedYear)
+                    .thenComparing(Comparator.comparingInt(EducationalInstitution::getStudentCount).reversed());
+
+    @Test
+    void sortsLikeArraysSortWithEquivalentComparator() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int n : new int[]{0, 1, 2, 3, 255, 256, 257, 10_000}) {
+            EducationalInstitution[] institutions = new EducationalInstitution[n];
+            for (int i = 0; i < n; i++) {
+                int year = switch (random.nextInt(4)) {
+                    case 0 -> Integer.MIN_VALUE + random.nextInt(3);
+                    case 1 -> Integer.MAX_VALUE - random.nextInt(3);
+                    default -> random.nextInt(1900, 1910);
+                };
+                int students = random.nextInt(3) == 0 ? random.nextInt() : random.nextInt(0, 50);
+                institutions[i] = new EducationalInstitution("I" + i, "C" + i % 7, year, students, 4.0);
+            }
+            EducationalInstitution[] expected = institutions.clone();
+            Arrays.sort(expected, YEAR_THEN_STUDENT_COUNT_DESC);
+
+            Main.BY_YEAR_THEN_STUDENT_COUNT_DESC.sort(institutions);
+
+            // Порівняння за посиланнями перевіряє і стабільність для рівних ключів.
+            for (int i = 0; i < n; i++) {
+                assertSame(expected[i], institutions[i], "n = " + n + ", i = " + i);
+            }
+        }
+    }
+
+    @Test
+    void radixSortOrdersKeysAsUnsignedAndCarriesIndices() {
+        SplittableRandom random = new SplittableRandom(2);
+        long[] keys = new long[5000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(5) == 0 ? random.nextLong(-3, 3) : random.nextLong();
+        }
+        long[] sortedKeys = keys.clone();
+        int[] indices = new int[keys.length];
+        Arrays.setAll(indices, i -> i);
+
+        PackedKeySorter.radixSort(sortedKeys, indices);
+
+        long[] expected = Arrays.stream(keys).map(k -> k ^ Long.MIN_VALUE).sorted().map(k -> k ^ Long.MIN_VALUE).toArray();
+        assertArrayEquals(expected, sortedKeys);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[indices[i]], sortedKeys[i]);
+            if (i > 0 && sortedKeys[i - 1] == sortedKeys[i]) {
+                assertTrue(indices[i - 1] < indices[i], "порядок рівних ключів змінився");
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StringPoolTest {
+
+    @Test
+    void equalStringsShareOneInstance() {
+        // Значення, якого не інтернують інші тести, щоб у пулі опинився саме first.
+        String first = new String("Рівні рядки");
+        String second = new String("Рівні рядки");
+        assertNotSame(first, second);
+        assertSame(first, StringPool.intern(first));
+        assertSame(first, StringPool.intern(second));
+        assertNull(StringPool.intern(null));
+    }
+
+    @Test
+    void institutionsShareNameAndCity() {
+        EducationalInstitution a = new EducationalInstitution(new String("КПІ"), new String("Київ"), 1898, 25000, 4.5);
+        EducationalInstitution b = new EducationalInstitution(new String("КПІ"), new String("Київ"), 1898, 25000, 4.5);
+        assertSame(a.getName(), b.getName());
+        assertSame(a.getCity(), b.getCity());
+    }
+
+    @Test
+    @Timeout(30)
+    void concurrentInterningYieldsOneInstancePerValue() throws Exception {
+        int threads = 4;
+        int values = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    String[] interned = new String[values];
+                    for (int i = 0; i < values; i++) {
+                        interned[i] = StringPool.intern(new String("concurrent-" + i));
+                    }
+                    return interned;
+                }));
+            }
+            String[] expected = results.get(0).get();
+            for (Future<String[]> result : results) {
+                String[] interned = result.get();
+                for (int i = 0; i < values; i++) {
+                    assertSame(expected[i], interned[i]);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void unreferencedStringIsCollected() throws InterruptedException {
+        WeakReference<String> reference = new WeakReference<>(StringPool.intern(new String("тимчасовий")));
+        for (int attempt = 0; attempt < 100 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+
+        String fresh = new String("тимчасовий");
+        assertSame(fresh, StringPool.intern(fresh));
+        for (int i = 0; i < 1000; i++) {
+            StringPool.intern("після-збирання-" + i);
+        }
+        assertSame(fresh, StringPool.intern(new String("тимчасовий")));
+    }
+
+    @Test
+    void cachedHashMatchesObjectsHashAndGuardsEquals() {
+        EducationalInstitution base = new EducationalInstitution("ЛНУ", "Львів", 1661, 20000, 4.2);
+        assertEquals(Objects.hash("ЛНУ", "Львів", 1661, 20000, 4.2), base.hashCode());
+        assertEquals(Objects.hash(null, null, 1661, 20000, 4.2),
+                new EducationalInstitution(null, null, 1661, 20000, 4.2).hashCode());
+
+        EducationalInstitution same = new EducationalInstitution(new String("ЛНУ"), new String("Львів"), 1661, 20000, 4.2);
+        assertEquals(base, same);
+        assertEquals(base.hashCode(), same.hashCode());
+
+        assertNotEquals(base, new EducationalInstitution("ЛНУ", "Київ", 1661, 20000, 4.2));
+        assertNotEquals(base, new EducationalInstitution("ЛП", "Львів", 1661, 20000, 4.2));
+        assertNotEquals(base, new EducationalInstitution("ЛНУ", "Львів", 1662, 20000, 4.2));
+        assertNotEquals(base, new EducationalInstitution("ЛНУ", "Львів", 1661, 20001, 4.2));
+        assertNotEquals(base, new EducationalInstitution("ЛНУ", "Львів", 1661, 20000, 4.3));
+        assertNotEquals(base, null);
+        assertTrue(base.equals(base));
+    }
+}
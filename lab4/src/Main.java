@@ -1,3 +1,6 @@
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -107,16 +110,44 @@ class Word {
  * <p>
  * This class organizes words and punctuation into a coherent structure and
  * provides methods to access and format the sentence.
+ * <p>
+ * A sentence created by {@link Text#lazy(String)} only remembers where it is located in the
+ * source text; its words and punctuation marks are parsed on the first call to
+ * {@link #getElements()} and kept afterwards.
  */
 class Sentence {
-    private List<Object> elements;
+    private final String source;
+    private final int start;
+    private final int end;
+    private volatile List<Object> elements;
     /**
      * Constructs a Sentence object by parsing a given string.
      *
      * @param sentence the string representation of the sentence
      */
     public Sentence(String sentence) {
-        elements = new ArrayList<>();
+        this.source = null;
+        this.start = 0;
+        this.end = 0;
+        this.elements = parse(sentence);
+    }
+
+    /**
+     * Constructs a Sentence object for the characters {@code [start, end)} of the source text
+     * without parsing them yet.
+     *
+     * @param source the text containing the sentence
+     * @param start  the index of the first character of the sentence
+     * @param end    the index after the last character of the sentence
+     */
+    Sentence(String source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    private static List<Object> parse(String sentence) {
+        List<Object> elements = new ArrayList<>();
         String[] splitParts = sentence.split("(?=[,.!?])|(?<=[,.!?])|\s+");
         for (String part : splitParts) {
             if (part.matches("[,.!?]")) {
@@ -125,14 +156,31 @@ class Sentence {
                 elements.add(new Word(part));
             }
         }
+        return elements;
     }
+
     /**
      * Returns the list of words in the sentence.
      *
      * @return the list of Word objects
      */
     public List<Object> getElements() {
-        return elements;
+        List<Object> result = elements;
+        if (result == null) {
+            // Parsing is repeatable, so threads racing here at worst parse the sentence twice.
+            result = parse(source.substring(start, end).replaceAll("\\s+", " "));
+            elements = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the words and punctuation marks of the sentence have been parsed.
+     *
+     * @return {@code true} if {@link #getElements()} will not parse the sentence
+     */
+    boolean isMaterialized() {
+        return elements != null;
     }
 
     @Override
@@ -140,7 +188,7 @@ class Sentence {
         StringBuilder sentence = new StringBuilder();
         boolean lastWasWord = false;
 
-        for (Object element : elements) {
+        for (Object element : getElements()) {
             if (element instanceof Word) {
                 if (lastWasWord) {
                     sentence.append(" ");
@@ -164,6 +212,8 @@ class Sentence {
  * including methods for text transformation and word analysis.
  */
 class Text {
+    private static final Histogram PARSE_TIME = MetricsRegistry.histogram("lab4.text.parse");
+
     private List<Sentence> sentences;
     /**
      * Constructs a Text object by parsing a given string into sentences.
@@ -171,7 +221,43 @@ class Text {
      * @param text the string representation of the text
      */
     public Text(String text) {
-        sentences = new ArrayList<>();
+        this(text, false);
+    }
+
+    private Text(String text, boolean lazy) {
+        int inputLength = text.length();
+        long start = PARSE_TIME.start();
+        TextParseEvent event = new TextParseEvent();
+        event.start();
+        try {
+            sentences = lazy ? locateSentences(text) : parseSentences(text);
+        } finally {
+            PARSE_TIME.stop(start);
+            if (event.finish()) {
+                event.inputLength = inputLength;
+                event.sentenceCount = sentences == null ? 0 : sentences.size();
+                event.lazy = lazy;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Constructs a Text object that only locates the sentence boundaries of a given string.
+     * <p>
+     * Words and punctuation marks of a sentence are parsed when they are first needed, so counting
+     * sentences or reading the first few of them stays cheap on large texts. The result of every
+     * operation is the same as for {@link #Text(String)}.
+     *
+     * @param text the string representation of the text
+     * @return a text whose sentences are parsed on demand
+     */
+    public static Text lazy(String text) {
+        return new Text(text, true);
+    }
+
+    private static List<Sentence> parseSentences(String text) {
+        List<Sentence> sentences = new ArrayList<>();
         text = text.replaceAll("\\s+", " ");
         String[] splitSentences = text.split("(?<=[.!?])");
         for (String part : splitSentences) {
@@ -179,6 +265,64 @@ class Text {
                 sentences.add(new Sentence(part.trim()));
             }
         }
+        return sentences;
+    }
+
+    // Same boundaries as parseSentences: a sentence ends after '.', '!' or '?', blank parts are
+    // skipped and the rest is trimmed, but without copying the text.
+    private static List<Sentence> locateSentences(String text) {
+        List<Sentence> sentences = new ArrayList<>();
+        int length = text.length();
+        int partStart = 0;
+        while (partStart < length) {
+            int partEnd = partStart;
+            while (partEnd < length && ".!?".indexOf(text.charAt(partEnd)) < 0) {
+                partEnd++;
+            }
+            partEnd = Math.min(partEnd + 1, length);
+
+            if (!isBlank(text, partStart, partEnd)) {
+                int start = partStart;
+                int end = partEnd;
+                while (start < end && text.charAt(start) <= ' ') {
+                    start++;
+                }
+                while (end > start && text.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+                sentences.add(new Sentence(text, start, end));
+            }
+            partStart = partEnd;
+        }
+        return sentences;
+    }
+
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of sentences in the text.
+     *
+     * @return the sentence count
+     */
+    public int getSentenceCount() {
+        return sentences.size();
+    }
+
+    /**
+     * Returns the sentence at the given position.
+     *
+     * @param index the position of the sentence, starting at 0
+     * @return the sentence
+     */
+    public Sentence getSentence(int index) {
+        return sentences.get(index);
     }
     /**
      * Sorts all words in the text by their vowel count and returns a concatenated string of sorted words.
@@ -233,5 +377,10 @@ public class Main {
 
         System.out.println("\nСлова, відсортовані за кількістю голосних:");
         System.out.println(sortedWords);
+
+        if (MetricsRegistry.isEnabled()) {
+            System.out.println();
+            System.out.print(MetricsRegistry.dump());
+        }
     }
 }
@@ -0,0 +1,292 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of parsed {@link Text} objects and their sorted-word results.
+ * <p>
+ * Entries are keyed by a 64-bit hash of the document content; the document itself is kept
+ * in the entry and compared on lookup, after its length, so a hash collision is treated as a
+ * miss rather than returning another document's result. The weight of an entry is the document length, and
+ * the total weight is bounded by the capacity given to the constructor.
+ * <p>
+ * Eviction follows LRU order, guarded by a TinyLFU admission filter: a new document only
+ * displaces the least recently used one if it has been requested more often recently, as
+ * estimated by a count-min sketch. One-off documents therefore do not flush frequently
+ * requested ones out of the cache.
+ * <p>
+ * The cache is safe for concurrent use. Lookups read a {@link ConcurrentHashMap} without
+ * locking; the LRU order, the sketch and the admission decisions are guarded by one lock.
+ * A hit only records its access if that lock is free, and otherwise skips the recording
+ * rather than waiting, so under contention the recency and frequency estimates are sampled
+ * instead of exact. Parsing happens outside the lock, so two threads that miss on the same
+ * document at the same time may both parse it.
+ */
+class TextAnalysisCache {
+    private final long maxWeight;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, Entry> index = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Constructs a cache holding documents with a total length of at most {@code maxWeight} characters.
+     *
+     * @param maxWeight the maximum total length of cached documents
+     */
+    public TextAnalysisCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive.");
+        }
+        this.maxWeight = maxWeight;
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(64, maxWeight / 64)));
+    }
+
+    /**
+     * Returns the parsed text of the document, parsing it only on a cache miss.
+     *
+     * @param document the text to parse
+     * @return the parsed text
+     */
+    public Text getText(String document) {
+        return entry(document).text;
+    }
+
+    /**
+     * Returns the words of the document sorted by vowel count, as {@link Text#sortWordsByVowelCount()}.
+     *
+     * @param document the text to analyze
+     * @return a string of words sorted by the number of vowels
+     */
+    public String sortWordsByVowelCount(String document) {
+        Entry entry = entry(document);
+        String sorted = entry.sortedWords;
+        if (sorted == null) {
+            sorted = entry.text.sortWordsByVowelCount();
+            entry.sortedWords = sorted;
+        }
+        return sorted;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns how many parsed documents were not cached because the admission filter
+     * rated them less popular than the entries they would have displaced.
+     */
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry entry(String document) {
+        if (document == null) {
+            throw new IllegalArgumentException("Document must not be null.");
+        }
+        long key = contentHash(document);
+
+        Entry cached = index.get(key);
+        if (cached != null && cached.matches(document)) {
+            hits.increment();
+            if (lock.tryLock()) {
+                try {
+                    sketch.increment(key);
+                    entries.get(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return cached;
+        }
+
+        misses.increment();
+        Entry created = new Entry(document, new Text(document));
+        admit(key, created);
+        return created;
+    }
+
+    private void admit(long key, Entry candidate) {
+        int candidateWeight = candidate.document.length();
+
+        lock.lock();
+        try {
+            sketch.increment(key);
+            if (candidateWeight > maxWeight) {
+                rejections.increment();
+                return;
+            }
+            // The victims are chosen and the admission decided before anything is removed,
+            // so a rejected candidate leaves the cache exactly as it was.
+            Entry previous = entries.get(key);
+            long freeWeight = maxWeight - weight + (previous == null ? 0 : previous.document.length());
+            int candidateFrequency = sketch.frequency(key);
+            List<Map.Entry<Long, Entry>> victims = new ArrayList<>();
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while (freeWeight < candidateWeight) {
+                Map.Entry<Long, Entry> victim = eldest.next();
+                if (victim.getKey() == key) {
+                    continue;
+                }
+                if (sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                    rejections.increment();
+                    return;
+                }
+                victims.add(victim);
+                freeWeight += victim.getValue().document.length();
+            }
+
+            for (Map.Entry<Long, Entry> victim : victims) {
+                entries.remove(victim.getKey());
+                index.remove(victim.getKey());
+                weight -= victim.getValue().document.length();
+                evictions.increment();
+            }
+            if (previous != null) {
+                weight -= previous.document.length();
+            }
+            entries.put(key, candidate);
+            index.put(key, candidate);
+            weight += candidateWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 64-bit FNV-1a over four interleaved lanes of characters, folded together at the end.
+    // Each lane is its own multiply chain, so the lanes overlap instead of waiting on one another.
+    static long contentHash(String document) {
+        long h0 = 0xcbf29ce484222325L;
+        long h1 = h0 ^ 1;
+        long h2 = h0 ^ 2;
+        long h3 = h0 ^ 3;
+        int length = document.length();
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            h0 = (h0 ^ document.charAt(i)) * 0x100000001b3L;
+            h1 = (h1 ^ document.charAt(i + 1)) * 0x100000001b3L;
+            h2 = (h2 ^ document.charAt(i + 2)) * 0x100000001b3L;
+            h3 = (h3 ^ document.charAt(i + 3)) * 0x100000001b3L;
+        }
+        for (; i < length; i++) {
+            h0 = (h0 ^ document.charAt(i)) * 0x100000001b3L;
+        }
+        long hash = h0;
+        hash = (hash ^ h1) * 0x100000001b3L;
+        hash = (hash ^ h2) * 0x100000001b3L;
+        hash = (hash ^ h3) * 0x100000001b3L;
+        return (hash ^ length) * 0x100000001b3L;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TextAnalysisCache: size = %d, weight = %d/%d, hits = %d, misses = %d, "
+                        + "hit rate = %.2f, evictions = %d, rejections = %d",
+                size(), weight(), maxWeight, hitCount(), missCount(), hitRate(), evictionCount(), rejectionCount());
+    }
+
+    private static final class Entry {
+        final String document;
+        final Text text;
+        volatile String sortedWords;
+
+        Entry(String document, Text text) {
+            this.document = document;
+            this.text = text;
+        }
+
+        // The key already matched the hash; the length is compared before the characters.
+        boolean matches(String other) {
+            return other == document || other.length() == document.length() && other.equals(document);
+        }
+    }
+
+    /**
+     * Count-min sketch with four rows of saturating 8-bit counters. All counters are halved
+     * after every {@code 10 * width} increments so that the estimates follow recent popularity.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int resetThreshold;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+            counters = new byte[SEEDS.length][width];
+            mask = width - 1;
+            resetThreshold = 10 * width;
+        }
+
+        void increment(long key) {
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = index(key, row);
+                if (counters[row][index] != Byte.MAX_VALUE) {
+                    counters[row][index]++;
+                }
+            }
+            if (++additions == resetThreshold) {
+                for (byte[] row : counters) {
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(long key) {
+            int frequency = Byte.MAX_VALUE;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counters[row][index(key, row)]);
+            }
+            return frequency;
+        }
+
+        private int index(long key, int row) {
+            long hash = (key ^ (key >>> 31)) * SEEDS[row];
+            return (int) (hash >>> 40) & mask;
+        }
+    }
+}
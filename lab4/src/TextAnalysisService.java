@@ -0,0 +1,28 @@
+import textservice.ServiceLauncher;
+
+/**
+ * Network service that parses every received document into a {@link Text} and answers with
+ * its words sorted by vowel count.
+ * <p>
+ * Results are kept in a {@link TextAnalysisCache}, so documents that are requested repeatedly
+ * are parsed only once. The cache capacity in characters is set with the system property
+ * {@code lab4.cache.chars} (default 16M); {@code 0} disables the cache.
+ * <p>
+ * See {@code textservice.AnalysisServer} for the protocol and {@code textservice.ServiceLauncher}
+ * for the command-line options.
+ */
+public class TextAnalysisService {
+
+    public static void main(String[] args) throws Exception {
+        long capacity = Long.getLong("lab4.cache.chars", 16L << 20);
+        if (capacity <= 0) {
+            ServiceLauncher.launch("lab4 text analysis service", args,
+                    document -> new Text(document).sortWordsByVowelCount());
+            return;
+        }
+
+        TextAnalysisCache cache = new TextAnalysisCache(capacity);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(cache)));
+        ServiceLauncher.launch("lab4 text analysis service", args, cache::sortWordsByVowelCount);
+    }
+}
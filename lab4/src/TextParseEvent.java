@@ -0,0 +1,26 @@
+import profiling.AllocationTrackingEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for every {@link Text} constructed from a string.
+ */
+@Name("lab4.TextParse")
+@Label("Text Parse")
+@Category({"Labs", "Lab4"})
+@Description("Parsing of a string into sentences, words and punctuation")
+class TextParseEvent extends AllocationTrackingEvent {
+    @Label("Input Length")
+    @Description("Number of characters in the parsed string")
+    int inputLength;
+
+    @Label("Sentences")
+    int sentenceCount;
+
+    @Label("Lazy")
+    @Description("Whether only sentence boundaries were located, see Text.lazy")
+    boolean lazy;
+}
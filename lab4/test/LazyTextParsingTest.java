@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class LazyTextParsingTest {
+
+    @Test
+    void lazyTextMatchesEagerTextOnEdgeCases() {
+        String[] texts = {
+                "",
+                "   ",
+                "No terminator at all",
+                "One. Two! Three? Trailing text",
+                "Trailing whitespace.   \t\n",
+                "  Leading whitespace. Runs \t\t of \n\n\n whitespace  inside.",
+                "Several... terminators?! In a row.",
+                ". Starts with a terminator",
+                "Commas, inside, a sentence, without end",
+                "Control\u0001characters.\u0002\u0003 Between\u0007 words.\u0001",
+                "Only control characters after the end.\u0001\u0002",
+                "Form\ffeed and vertical\u000Btab. Next\rline.",
+                "Unicode\u2003space. And\u00A0no-break space.\u2003",
+                "Separators\u001C\u001D\u001E\u001F. Between sentences.",
+                "Word,punctuation,without,spaces.Next!",
+        };
+        for (String text : texts) {
+            assertSameParse(text);
+        }
+    }
+
+    @Test
+    void lazyTextMatchesEagerTextOnRandomInput() {
+        char[] alphabet = {'a', 'e', 'o', 'b', 'k', 'Z', 'я', ' ', ' ', ' ', '\t', '\n', '\r', '\f', '\u000B',
+                '\u0001', '\u001F', '\u00A0', '\u2003', '.', '!', '?', ','};
+        SplittableRandom random = new SplittableRandom(39);
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(0, 80);
+            for (int j = 0; j < length; j++) {
+                text.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertSameParse(text.toString());
+        }
+    }
+
+    @Test
+    void lazySentencesAreParsedOnlyWhenRead() {
+        Text text = Text.lazy("First sentence. Second one! Third?");
+        assertEquals(3, text.getSentenceCount());
+        assertFalse(text.getSentence(1).isMaterialized());
+        assertEquals("Second one!", text.getSentence(1).toString());
+        assertFalse(text.getSentence(2).isMaterialized());
+    }
+
+    private static void assertSameParse(String input) {
+        Text eager = new Text(input);
+        Text lazy = Text.lazy(input);
+        String message = "input: " + escape(input);
+        assertEquals(eager.getSentenceCount(), lazy.getSentenceCount(), message);
+        for (int i = 0; i < eager.getSentenceCount(); i++) {
+            Sentence expected = eager.getSentence(i);
+            Sentence actual = lazy.getSentence(i);
+            assertEquals(elements(expected), elements(actual), message + ", sentence " + i);
+            assertEquals(expected.toString(), actual.toString(), message + ", sentence " + i);
+        }
+        assertEquals(eager.toString(), lazy.toString(), message);
+        assertEquals(eager.sortWordsByVowelCount(), lazy.sortWordsByVowelCount(), message);
+    }
+
+    private static List<String> elements(Sentence sentence) {
+        List<String> elements = new ArrayList<>();
+        for (Object element : sentence.getElements()) {
+            elements.add(element.getClass().getSimpleName() + ":" + element);
+        }
+        return elements;
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c < ' ' || c > '~') {
+                escaped.append(String.format("\\u%04X", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextAnalysisCacheTest {
+
+    @Test
+    void rejectedCandidateDoesNotEvictAnything() {
+        TextAnalysisCache cache = new TextAnalysisCache(10);
+        Text rare = cache.getText("bbbbb");
+        Text popular = cache.getText("aaaaa");
+        for (int i = 0; i < 5; i++) {
+            cache.getText("aaaaa");
+        }
+
+        // The candidate is more popular than the eldest entry but not than the next one,
+        // and it only fits if both are evicted.
+        cache.getText("cccccccccc");
+        cache.getText("cccccccccc");
+
+        assertEquals(2, cache.rejectionCount());
+        assertEquals(0, cache.evictionCount());
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.weight());
+        assertSame(rare, cache.getText("bbbbb"));
+        assertSame(popular, cache.getText("aaaaa"));
+    }
+
+    @Test
+    void admittedCandidateEvictsLeastRecentlyUsedEntries() {
+        TextAnalysisCache cache = new TextAnalysisCache(10);
+        cache.getText("bbbbb");
+        Text kept = cache.getText("aaaaa");
+        // The first request is rejected, as the candidate is no more popular than the eldest entry.
+        cache.getText("ccccc");
+        Text admitted = cache.getText("ccccc");
+
+        assertEquals(1, cache.rejectionCount());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.weight());
+        assertSame(admitted, cache.getText("ccccc"));
+        assertSame(kept, cache.getText("aaaaa"));
+    }
+
+    @Test
+    void weightStaysWithinCapacity() {
+        TextAnalysisCache cache = new TextAnalysisCache(500);
+        SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 20_000; i++) {
+            // A skewed workload: small document numbers are requested far more often.
+            int document = (int) Math.pow(random.nextInt(1, 40), 2);
+            String text = ("word" + document + " ").repeat(1 + document % 7);
+            assertEquals(new Text(text).sortWordsByVowelCount(), cache.sortWordsByVowelCount(text));
+            assertTrue(cache.weight() <= 500, "weight " + cache.weight());
+        }
+        assertEquals(20_000, cache.hitCount() + cache.missCount());
+        assertTrue(cache.hitCount() > 0);
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentLookupsReturnTheirOwnDocuments() throws Exception {
+        TextAnalysisCache cache = new TextAnalysisCache(2_000);
+        int threads = 4;
+        int requests = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < requests; i++) {
+                        int document = (int) Math.pow(random.nextInt(1, 30), 2);
+                        // A new instance per request, so hits compare the characters, not the reference.
+                        String text = new String(("word" + document + " ").repeat(1 + document % 5));
+                        assertEquals(new Text(text).sortWordsByVowelCount(), cache.sortWordsByVowelCount(text));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals((long) threads * requests, cache.hitCount() + cache.missCount());
+        assertTrue(cache.hitCount() > 0);
+        assertTrue(cache.weight() <= 2_000, "weight " + cache.weight());
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the cargo of a {@link CoffeeVan}.
+ * <p>
+ * A snapshot never changes after it is taken, so it can be iterated for as long as needed while
+ * the van keeps loading. Successive snapshots share most of their cargo structure, which makes
+ * taking one free and keeping many cheap.
+ */
+final class CargoSnapshot {
+    private final long version;
+    private final long sortGeneration;
+    private final double remainingVolume;
+    private final PersistentVector<Coffee> cargo;
+
+    CargoSnapshot(long version, long sortGeneration, double remainingVolume, PersistentVector<Coffee> cargo) {
+        this.version = version;
+        this.sortGeneration = sortGeneration;
+        this.remainingVolume = remainingVolume;
+        this.cargo = cargo;
+    }
+
+    /**
+     * Gets the version of the cargo; every change of the van increments it by one.
+     *
+     * @return the version, starting at 0 for an empty van
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // Number of sorts applied before this version; between two sorts the cargo only grows at the end.
+    long getSortGeneration() {
+        return sortGeneration;
+    }
+
+    /**
+     * Gets the volume that was still free in the van at this version.
+     *
+     * @return the remaining volume
+     */
+    public double getRemainingVolume() {
+        return remainingVolume;
+    }
+
+    /**
+     * Gets the cargo at this version.
+     *
+     * @return an unmodifiable list of the coffee in the van
+     */
+    public PersistentVector<Coffee> getCargo() {
+        return cargo;
+    }
+
+    /**
+     * Finds coffee in this version of the cargo within a specified quality range.
+     *
+     * @param minQuality the minimum quality of the coffee
+     * @param maxQuality the maximum quality of the coffee
+     * @return a list of coffee that falls within the quality range
+     */
+    public List<Coffee> findCargoByQualityRange(double minQuality, double maxQuality) {
+        List<Coffee> result = new ArrayList<>();
+        for (Coffee coffee : cargo) {
+            if (coffee.getQuality() >= minQuality && coffee.getQuality() <= maxQuality) {
+                result.add(coffee);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CoffeeVan contents: " + cargo.toString();
+    }
+}
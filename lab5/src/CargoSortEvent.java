@@ -0,0 +1,26 @@
+import profiling.AllocationTrackingEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when the cargo of a {@link CoffeeVan} is sorted.
+ */
+@Name("lab5.CargoSort")
+@Label("Cargo Sort")
+@Category({"Labs", "Lab5"})
+@Description("Sorting of van cargo by price-to-weight ratio")
+class CargoSortEvent extends AllocationTrackingEvent {
+    @Label("Cargo Size")
+    int cargoSize;
+
+    @Label("Rebases")
+    @Description("Times the sorted cargo was merged with cargo loaded during the sort or recomputed")
+    int rebases;
+
+    @Label("Appended")
+    @Description("Cargo loaded after the merge and appended after the sorted cargo unsorted")
+    int appended;
+}
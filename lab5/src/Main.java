@@ -1,4 +1,8 @@
+import metrics.Counter;
+import metrics.MetricsRegistry;
+
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstract class representing a Coffee.
@@ -150,10 +154,18 @@ class InstantCoffee extends Coffee {
 
 /**
  * Represents a van that carries coffee.
+ * <p>
+ * The state of the van is an immutable {@link CargoSnapshot} that every change replaces
+ * atomically. Readers take a snapshot with {@link #snapshot()} and never block or are blocked;
+ * writers build the next version on the side and publish it with a compare-and-set, retrying
+ * only when another writer published first. No writer ever waits for another one.
  */
 class CoffeeVan {
-    private double maxVolume;
-    private List<Coffee> cargo;
+    private static final Counter REJECTED_CARGO = MetricsRegistry.counter("lab5.coffeeVan.addCargo.rejected");
+    private static final Comparator<Coffee> BY_PRICE_TO_WEIGHT =
+            Comparator.comparingDouble(c -> c.getPricePerKg() / c.getVolume());
+
+    private final AtomicReference<CargoSnapshot> state;
 
     /**
      * Constructs a CoffeeVan object.
@@ -164,8 +176,17 @@ class CoffeeVan {
         if (maxVolume <= 0) {
             throw new IllegalArgumentException("Maximum volume must be positive.");
         }
-        this.maxVolume = maxVolume;
-        this.cargo = new ArrayList<>();
+        this.state = new AtomicReference<>(new CargoSnapshot(0, 0, maxVolume, PersistentVector.empty()));
+    }
+
+    /**
+     * Returns the current version of the cargo. The snapshot stays unchanged while the van is
+     * loaded or sorted further.
+     *
+     * @return the current cargo snapshot
+     */
+    public CargoSnapshot snapshot() {
+        return state.get();
     }
 
     /**
@@ -177,18 +198,101 @@ class CoffeeVan {
      */
     public void addCargo(Coffee coffee, double weight) {
         double requiredVolume = weight * coffee.getVolume();
-        if (requiredVolume > maxVolume) {
-            throw new IllegalStateException("Not enough space in the van for this cargo.");
+        while (true) {
+            CargoSnapshot current = state.get();
+            if (requiredVolume > current.getRemainingVolume()) {
+                REJECTED_CARGO.increment();
+                throw new IllegalStateException("Not enough space in the van for this cargo.");
+            }
+            CargoSnapshot next = new CargoSnapshot(current.getVersion() + 1, current.getSortGeneration(),
+                    current.getRemainingVolume() - requiredVolume, current.getCargo().appended(coffee));
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
         }
-        cargo.add(coffee);
-        maxVolume -= requiredVolume;
     }
 
     /**
      * Sorts the cargo in the van by price-to-weight ratio.
+     * <p>
+     * Cargo loaded while the sort runs is sorted separately and merged in once. Cargo loaded
+     * after that merge, while the sort is publishing its result, is appended after the sorted
+     * cargo in the order it was loaded. A publication that loses to loaders therefore only
+     * has to append what they loaded, which costs about as much as loading it did, so the sort
+     * finishes without making loaders wait. Only a sort published by another thread meanwhile
+     * makes this one start over.
      */
     public void sortCargoByPriceToWeight() {
-        cargo.sort(Comparator.comparingDouble(c -> c.getPricePerKg() / c.getVolume()));
+        CargoSortEvent event = new CargoSortEvent();
+        event.start();
+        int cargoSize = 0;
+        int rebases = 0;
+        int appended = 0;
+        try {
+            CargoSnapshot base = state.get();
+            Coffee[] sorted = sortedCargo(base.getCargo());
+            // The sorted cargo followed by the cargo loaded after the merge; null until the merge.
+            PersistentVector<Coffee> result = null;
+            while (true) {
+                CargoSnapshot current = state.get();
+                if (current.getSortGeneration() != base.getSortGeneration()) {
+                    // Another sort was published meanwhile, so the cargo may have been reordered.
+                    base = current;
+                    sorted = sortedCargo(current.getCargo());
+                    result = null;
+                    rebases++;
+                    continue;
+                }
+                // Since the base version the cargo has only grown at the end.
+                List<Coffee> cargo = current.getCargo();
+                if (result == null) {
+                    int baseSize = base.getCargo().size();
+                    if (cargo.size() > baseSize) {
+                        sorted = merge(sorted, sortedCargo(cargo.subList(baseSize, cargo.size())));
+                        rebases++;
+                    }
+                    result = PersistentVector.of(sorted);
+                }
+                for (int i = result.size(); i < cargo.size(); i++) {
+                    result = result.appended(cargo.get(i));
+                    appended++;
+                }
+                CargoSnapshot next = new CargoSnapshot(current.getVersion() + 1, current.getSortGeneration() + 1,
+                        current.getRemainingVolume(), result);
+                if (state.compareAndSet(current, next)) {
+                    cargoSize = result.size();
+                    break;
+                }
+            }
+        } finally {
+            if (event.finish()) {
+                event.cargoSize = cargoSize;
+                event.rebases = rebases;
+                event.appended = appended;
+                event.commit();
+            }
+        }
+    }
+
+    private static Coffee[] sortedCargo(List<Coffee> cargo) {
+        Coffee[] sorted = cargo.toArray(new Coffee[0]);
+        Arrays.sort(sorted, BY_PRICE_TO_WEIGHT);
+        return sorted;
+    }
+
+    // Stable merge: on equal ratios the cargo loaded earlier comes first, as in a stable sort of all cargo.
+    private static Coffee[] merge(Coffee[] earlier, Coffee[] later) {
+        Coffee[] merged = new Coffee[earlier.length + later.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            if (j == later.length || (i < earlier.length && BY_PRICE_TO_WEIGHT.compare(earlier[i], later[j]) <= 0)) {
+                merged[k] = earlier[i++];
+            } else {
+                merged[k] = later[j++];
+            }
+        }
+        return merged;
     }
 
     /**
@@ -199,18 +303,12 @@ class CoffeeVan {
      * @return a list of coffee that falls within the quality range
      */
     public List<Coffee> findCargoByQualityRange(double minQuality, double maxQuality) {
-        List<Coffee> result = new ArrayList<>();
-        for (Coffee coffee : cargo) {
-            if (coffee.getQuality() >= minQuality && coffee.getQuality() <= maxQuality) {
-                result.add(coffee);
-            }
-        }
-        return result;
+        return state.get().findCargoByQualityRange(minQuality, maxQuality);
     }
 
     @Override
     public String toString() {
-        return "CoffeeVan contents: " + cargo.toString();
+        return state.get().toString();
     }
 }
 
@@ -232,15 +330,25 @@ public class Main {
 
             System.out.println(van);
 
+            CargoSnapshot beforeSorting = van.snapshot();
             van.sortCargoByPriceToWeight();
             System.out.println("\nAfter sorting by price to weight ratio:");
             System.out.println(van);
 
+            System.out.println("\nSnapshot taken before sorting (version " + beforeSorting.getVersion()
+                    + ", current version " + van.snapshot().getVersion() + "):");
+            System.out.println(beforeSorting);
+
             System.out.println("\nFinding cargo in quality range 7.5 to 9.0:");
             List<Coffee> filtered = van.findCargoByQualityRange(7.5, 9.0);
             for (Coffee coffee : filtered) {
                 System.out.println(coffee);
             }
+
+            if (MetricsRegistry.isEnabled()) {
+                System.out.println();
+                System.out.print(MetricsRegistry.dump());
+            }
         } catch (Exception e) {
             System.err.println("An error occurred: " + e.getMessage());
         }
@@ -0,0 +1,222 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable list that shares structure between versions.
+ * <p>
+ * Elements are stored in a tree of 32-element arrays plus a separate tail array for the last
+ * elements. {@link #appended(Object)} returns a new vector that copies only the tail or the path
+ * from the root to the new leaf and shares everything else with this one, so keeping old
+ * versions around is cheap. Versions also share the tail array: the first version to append after
+ * a given length claims the next tail slot and writes it in place, and only versions that find
+ * the slot taken copy the tail. Lookup takes {@code O(log32 n)}, which is at most six array reads
+ * for any list that fits in memory.
+ * <p>
+ * All mutators inherited from {@link AbstractList} throw {@link UnsupportedOperationException}.
+ * <p>
+ * A vector can be read and appended to from any thread, but only if it was published safely,
+ * e.g. through an {@link java.util.concurrent.atomic.AtomicReference} as {@link CoffeeVan} does.
+ * An append writes the claimed tail slot with a plain store, which other threads are only
+ * guaranteed to see through the happens-before edge of such a publication.
+ *
+ * @param <E> the type of elements in this vector
+ */
+final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    // The empty tail has no free slot, so the shared empty vector never stores an element.
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0], new AtomicInteger());
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+    // Number of claimed slots of `tail`, shared by all versions using the same tail array.
+    private final AtomicInteger tailClaimed;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail, AtomicInteger tailClaimed) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+        this.tailClaimed = tailClaimed;
+    }
+
+    /**
+     * Returns the empty vector.
+     *
+     * @param <E> the type of elements
+     * @return the empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Builds a vector with the given elements in one pass, without intermediate versions.
+     *
+     * @param elements the elements of the vector; the array is copied
+     * @param <E>      the type of elements
+     * @return a vector with the elements in the same order
+     */
+    public static <E> PersistentVector<E> of(E[] elements) {
+        int size = elements.length;
+        if (size == 0) {
+            return empty();
+        }
+        int tailOffset = tailOffset(size);
+        Object[] tail = Arrays.copyOf(Arrays.copyOfRange(elements, tailOffset, size, Object[].class), WIDTH);
+
+        Object[][] nodes = new Object[tailOffset / WIDTH][];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = Arrays.copyOfRange(elements, i * WIDTH, (i + 1) * WIDTH, Object[].class);
+        }
+        int shift = BITS;
+        while (nodes.length > WIDTH) {
+            Object[][] parents = new Object[(nodes.length + MASK) / WIDTH][];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Arrays.copyOf(Arrays.copyOfRange(nodes, i * WIDTH, Math.min(nodes.length, (i + 1) * WIDTH),
+                        Object[].class), WIDTH);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        return new PersistentVector<>(size, shift, Arrays.copyOf(nodes, WIDTH, Object[].class), tail,
+                new AtomicInteger(size - tailOffset));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns a new vector with the element added at the end. This vector is not changed.
+     *
+     * @param element the element to add
+     * @return a vector one element longer than this one
+     */
+    public PersistentVector<E> appended(E element) {
+        int tailLength = size - tailOffset(size);
+        if (tailLength < WIDTH) {
+            if (tailLength < tail.length && tailClaimed.compareAndSet(tailLength, tailLength + 1)) {
+                tail[tailLength] = element;
+                return new PersistentVector<>(size + 1, shift, root, tail, tailClaimed);
+            }
+            Object[] newTail = new Object[WIDTH];
+            System.arraycopy(tail, 0, newTail, 0, tailLength);
+            newTail[tailLength] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail, new AtomicInteger(tailLength + 1));
+        }
+
+        // The tail is full: it becomes a leaf of the tree and the element starts a new tail.
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        Object[] newTail = new Object[WIDTH];
+        newTail[0] = element;
+        return new PersistentVector<>(size + 1, newShift, newRoot, newTail, new AtomicInteger(1));
+    }
+
+    /**
+     * Returns an iterator that walks the leaf arrays directly instead of looking up every element.
+     *
+     * @return an iterator over the elements in order
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index;
+            private Object[] leaf = size == 0 ? null : leafFor(0);
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index > 0 && (index & MASK) == 0) {
+                    leaf = leafFor(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int tailOffset = tailOffset(size);
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            System.arraycopy(leafFor(i), 0, array, i, WIDTH);
+        }
+        System.arraycopy(tail, 0, array, tailOffset, size - tailOffset);
+        return array;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        Object[] copy = parent.clone();
+        int index = ((size - 1) >>> level) & MASK;
+        Object[] child;
+        if (level == BITS) {
+            child = leaf;
+        } else {
+            Object[] existing = (Object[]) parent[index];
+            child = existing != null ? pushTail(level - BITS, existing, leaf) : newPath(level - BITS, leaf);
+        }
+        copy[index] = child;
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+}
@@ -0,0 +1,142 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoffeeVanTest {
+    private static final Comparator<Coffee> BY_PRICE_TO_WEIGHT =
+            Comparator.comparingDouble(c -> c.getPricePerKg() / c.getVolume());
+
+    @Test
+    void sortIsStableAndKeepsSnapshots() {
+        CoffeeVan van = new CoffeeVan(1000);
+        List<Coffee> loaded = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Only four distinct ratios, so most coffees compare equal.
+            Coffee coffee = new CoffeeBeans("Coffee " + i, 10 * (1 + i % 4), 5, 1.0);
+            van.addCargo(coffee, 1);
+            loaded.add(coffee);
+        }
+        CargoSnapshot before = van.snapshot();
+        van.sortCargoByPriceToWeight();
+
+        List<Coffee> expected = new ArrayList<>(loaded);
+        expected.sort(BY_PRICE_TO_WEIGHT);
+        assertIdentical(expected, van.snapshot().getCargo());
+        assertIdentical(loaded, before.getCargo());
+        assertEquals(before.getVersion() + 1, van.snapshot().getVersion());
+        assertEquals(900, van.snapshot().getRemainingVolume(), 1e-9);
+    }
+
+    @Test
+    void rejectsCargoThatDoesNotFit() {
+        CoffeeVan van = new CoffeeVan(10);
+        van.addCargo(new GroundCoffee("Ground", 10, 5, 1.0), 6);
+        assertThrows(IllegalStateException.class, () -> van.addCargo(new GroundCoffee("Ground", 10, 5, 1.0), 5));
+        assertEquals(1, van.snapshot().getCargo().size());
+    }
+
+    @Test
+    @Timeout(120)
+    void loadersRunningDuringSortsLoseNothing() throws InterruptedException {
+        int loaders = 3;
+        int perLoader = 20_000;
+        Coffee[][] coffees = new Coffee[loaders][perLoader];
+        for (int loader = 0; loader < loaders; loader++) {
+            for (int i = 0; i < perLoader; i++) {
+                coffees[loader][i] = new InstantCoffee(loader + ":" + i, 10 * (1 + (i * 7 + loader) % 5), 5, 1.0);
+            }
+        }
+        CoffeeVan van = new CoffeeVan(Double.MAX_VALUE);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean loading = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int l = 0; l < loaders; l++) {
+            Coffee[] own = coffees[l];
+            threads.add(Thread.ofPlatform().start(() -> run(start, failures, () -> {
+                for (Coffee coffee : own) {
+                    van.addCargo(coffee, 1);
+                }
+            })));
+        }
+        List<Thread> sorters = new ArrayList<>();
+        for (int s = 0; s < 2; s++) {
+            sorters.add(Thread.ofPlatform().start(() -> run(start, failures, () -> {
+                while (loading.get()) {
+                    van.sortCargoByPriceToWeight();
+                    assertSortedPrefixesKeepLoadOrder(van.snapshot().getCargo());
+                }
+            })));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        loading.set(false);
+        for (Thread sorter : sorters) {
+            sorter.join();
+        }
+        assertEquals(List.of(), failures);
+
+        van.sortCargoByPriceToWeight();
+        List<Coffee> cargo = van.snapshot().getCargo();
+        assertEquals(loaders * perLoader, cargo.size());
+        HashSet<Coffee> all = new HashSet<>();
+        for (Coffee[] own : coffees) {
+            all.addAll(Arrays.asList(own));
+        }
+        assertEquals(all, new HashSet<>(cargo));
+        for (int i = 1; i < cargo.size(); i++) {
+            assertTrue(BY_PRICE_TO_WEIGHT.compare(cargo.get(i - 1), cargo.get(i)) <= 0, "unsorted at " + i);
+        }
+        assertSortedPrefixesKeepLoadOrder(cargo);
+        // Every load and every sort published exactly one version.
+        assertEquals(loaders * perLoader + van.snapshot().getSortGeneration(), van.snapshot().getVersion());
+    }
+
+    // Every sort is stable and loaders append in order, so coffees of one loader with the same
+    // ratio always stay in the order that loader added them.
+    private static void assertSortedPrefixesKeepLoadOrder(List<Coffee> cargo) {
+        Map<String, Integer> last = new HashMap<>();
+        for (Coffee coffee : cargo) {
+            String[] parts = coffee.getName().split(":");
+            String group = parts[0] + "/" + coffee.getPricePerKg();
+            int index = Integer.parseInt(parts[1]);
+            Integer previous = last.put(group, index);
+            assertTrue(previous == null || previous < index, "out of load order: " + coffee.getName());
+        }
+    }
+
+    private static void run(CountDownLatch start, List<Throwable> failures, Runnable task) {
+        try {
+            start.await();
+            task.run();
+        } catch (Throwable e) {
+            synchronized (failures) {
+                failures.add(e);
+            }
+        }
+    }
+
+    private static void assertIdentical(List<Coffee> expected, List<Coffee> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "index " + i);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentVectorTest {
+    // Around the first tail spill, and around the spill that needs a second tree level (32 * 32 + 32).
+    private static final int[] SIZES = {0, 1, 31, 32, 33, 63, 64, 65, 1055, 1056, 1057, 1088, 1089, 40_000};
+
+    @Test
+    void appendedMatchesArrayList() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int size : SIZES) {
+            while (expected.size() < size) {
+                vector = vector.appended(expected.size());
+                expected.add(expected.size());
+            }
+            assertMatches(expected, vector);
+        }
+    }
+
+    @Test
+    void ofMatchesArrayList() {
+        for (int size : SIZES) {
+            Integer[] elements = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = i;
+            }
+            PersistentVector<Integer> vector = PersistentVector.of(elements);
+            assertMatches(List.of(elements), vector);
+            // A vector built in one pass is appended to like one built element by element.
+            List<Integer> expected = new ArrayList<>(List.of(elements));
+            for (int i = 0; i < 40; i++) {
+                vector = vector.appended(-i);
+                expected.add(-i);
+            }
+            assertMatches(expected, vector);
+        }
+    }
+
+    @Test
+    void appendToOldVersionLeavesOtherVersionsUnchanged() {
+        for (int size : SIZES) {
+            PersistentVector<Integer> base = vectorOf(size);
+            PersistentVector<Integer> first = base.appended(-1);
+            PersistentVector<Integer> second = base.appended(-2);
+            PersistentVector<Integer> third = first.appended(-3);
+
+            List<Integer> expected = listOf(size);
+            assertMatches(expected, base);
+            expected.add(-1);
+            assertMatches(expected, first);
+            expected.add(-3);
+            assertMatches(expected, third);
+            expected.remove(expected.size() - 1);
+            expected.set(size, -2);
+            assertMatches(expected, second);
+        }
+    }
+
+    @Test
+    void appendAfterLostCompareAndSet() {
+        for (int size : SIZES) {
+            AtomicReference<PersistentVector<Integer>> state = new AtomicReference<>(vectorOf(size));
+            PersistentVector<Integer> current = state.get();
+            // The loser claimed the tail slot but never published its version.
+            PersistentVector<Integer> lost = current.appended(-1);
+            assertTrue(state.compareAndSet(current, current.appended(-2)));
+            PersistentVector<Integer> retried = state.get().appended(-3);
+
+            List<Integer> expected = listOf(size);
+            expected.add(-2);
+            assertMatches(expected, state.get());
+            expected.add(-3);
+            assertMatches(expected, retried);
+            expected = listOf(size);
+            expected.add(-1);
+            assertMatches(expected, lost);
+        }
+    }
+
+    @Test
+    void rejectsIndexesOutOfRange() {
+        PersistentVector<Integer> vector = vectorOf(33);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(33));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(-1));
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(1));
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentAppendsThroughAtomicReference() throws InterruptedException {
+        int threads = 4;
+        int perThread = 20_000;
+        AtomicReference<PersistentVector<Integer>> state = new AtomicReference<>(PersistentVector.empty());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        Integer element = thread * perThread + i;
+                        while (true) {
+                            PersistentVector<Integer> current = state.get();
+                            // Forks of old versions compete for the same tail slots as the published ones.
+                            PersistentVector<Integer> fork = current.appended(-element - 1);
+                            PersistentVector<Integer> next = current.appended(element);
+                            if (state.compareAndSet(current, next)) {
+                                assertEquals(-element - 1, (int) fork.get(current.size()));
+                                assertEquals(element, next.get(current.size()));
+                                if (!current.isEmpty()) {
+                                    assertSame(current.get(current.size() - 1), fork.get(current.size() - 1));
+                                }
+                                break;
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(List.of(), failures);
+
+        PersistentVector<Integer> result = state.get();
+        assertEquals(threads * perThread, result.size());
+        Set<Integer> seen = new HashSet<>(result);
+        assertEquals(threads * perThread, seen.size());
+        // The elements of every thread keep the order in which that thread appended them.
+        int[] last = new int[threads];
+        Arrays.fill(last, -1);
+        for (int element : result) {
+            int thread = element / perThread;
+            assertTrue(element > last[thread]);
+            last[thread] = element;
+        }
+        assertArrayEquals(result.toArray(), new ArrayList<>(result).toArray());
+    }
+
+    private static void assertMatches(List<Integer> expected, PersistentVector<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), "index " + i);
+        }
+        assertEquals(expected, new ArrayList<>(actual));
+        assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+
+    private static PersistentVector<Integer> vectorOf(int size) {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < size; i++) {
+            vector = vector.appended(i);
+        }
+        return vector;
+    }
+
+    private static List<Integer> listOf(int size) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
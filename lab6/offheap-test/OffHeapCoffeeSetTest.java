@@ -0,0 +1,137 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapCoffeeSetTest {
+
+    @Test
+    void randomOperationsMatchHashSet() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Coffee> pool = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // Every tenth coffee has no name; names of different lengths exercise the name block.
+            String name = i % 10 == 0 ? null : "Coffee " + "x".repeat(i % 17) + i;
+            pool.add(coffee(name, 10 + i % 7, 1 + i % 5, 0.5 + i % 3));
+        }
+        // Coffees with the same values are the same element, even though they are different objects.
+        pool.add(coffee("Coffee 1", 10 + 1, 1 + 1, 0.5 + 1));
+        pool.add(coffee(null, 10, 1, 0.5));
+
+        try (OffHeapCoffeeSet set = new OffHeapCoffeeSet(0)) {
+            Set<Key> expected = new HashSet<>();
+            for (int step = 0; step < 200_000; step++) {
+                Coffee coffee = pool.get(random.nextInt(pool.size()));
+                int operation = random.nextInt(100);
+                if (operation < 45) {
+                    assertEquals(expected.add(Key.of(coffee)), set.add(coffee));
+                } else if (operation < 85) {
+                    assertEquals(expected.remove(Key.of(coffee)), set.remove(coffee));
+                } else if (operation < 99) {
+                    assertEquals(expected.contains(Key.of(coffee)), set.contains(coffee));
+                } else if (random.nextInt(20) == 0) {
+                    set.clear();
+                    expected.clear();
+                } else {
+                    removeWithIterator(set, expected, random);
+                }
+                assertEquals(expected.size(), set.size());
+                if (step % 1000 == 0) {
+                    assertContents(expected, set);
+                }
+            }
+            assertContents(expected, set);
+            // With at most 302 coffees alive, removed names must have been compacted away
+            // instead of piling up in the name block.
+            assertTrue(set.reservedBytes() < 256 * 1024, "reserved " + set.reservedBytes() + " bytes");
+        }
+    }
+
+    @Test
+    void iteratorRemoveVisitsEveryRemainingCoffee() {
+        try (OffHeapCoffeeSet set = new OffHeapCoffeeSet()) {
+            Set<Key> expected = new HashSet<>();
+            for (int i = 0; i < 1000; i++) {
+                Coffee coffee = coffee("Coffee " + i, 10 + i, 5, 1);
+                set.add(coffee);
+                expected.add(Key.of(coffee));
+            }
+            // Removing a record moves the last one into its place, which must still be visited.
+            Set<Key> visited = new HashSet<>();
+            Iterator<Coffee> iterator = set.iterator();
+            while (iterator.hasNext()) {
+                Key key = Key.of(iterator.next());
+                assertTrue(visited.add(key), "visited twice: " + key);
+                if (key.price() % 3 == 0) {
+                    iterator.remove();
+                    expected.remove(key);
+                }
+            }
+            assertEquals(1000, visited.size());
+            assertContents(expected, set);
+            assertThrows(IllegalStateException.class, () -> set.iterator().remove());
+        }
+    }
+
+    @Test
+    void closedSetRejectsEveryOperation() {
+        OffHeapCoffeeSet set = new OffHeapCoffeeSet();
+        Coffee coffee = coffee("Coffee", 10, 5, 1);
+        set.add(coffee);
+        Iterator<Coffee> iterator = set.iterator();
+        set.close();
+        set.close();
+        assertThrows(IllegalStateException.class, set::size);
+        assertThrows(IllegalStateException.class, () -> set.contains(coffee));
+        assertThrows(IllegalStateException.class, () -> set.add(coffee));
+        assertThrows(IllegalStateException.class, () -> set.remove(coffee));
+        assertThrows(IllegalStateException.class, set::clear);
+        assertThrows(IllegalStateException.class, set::iterator);
+        assertThrows(IllegalStateException.class, iterator::next);
+    }
+
+    private static void removeWithIterator(OffHeapCoffeeSet set, Set<Key> expected, SplittableRandom random) {
+        Iterator<Coffee> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            Coffee coffee = iterator.next();
+            if (random.nextInt(4) == 0) {
+                iterator.remove();
+                assertTrue(expected.remove(Key.of(coffee)));
+            }
+        }
+    }
+
+    private static void assertContents(Set<Key> expected, OffHeapCoffeeSet set) {
+        Set<Key> actual = new HashSet<>();
+        for (Coffee coffee : set) {
+            assertTrue(actual.add(Key.of(coffee)), "iterated twice: " + coffee);
+        }
+        assertEquals(expected, actual);
+        for (Key key : expected) {
+            assertTrue(set.contains(coffee(key.name(), key.price(), key.quality(), key.volume())));
+        }
+    }
+
+    private static Coffee coffee(String name, double price, double quality, double volume) {
+        return new Coffee(name, price, quality) {
+            @Override
+            public double getVolume() {
+                return volume;
+            }
+        };
+    }
+
+    private record Key(String name, double price, double quality, double volume) {
+        static Key of(Coffee coffee) {
+            return new Key(coffee.getName(), coffee.getPricePerKg(), coffee.getQuality(), coffee.getVolume());
+        }
+    }
+}
@@ -0,0 +1,468 @@
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of coffee records stored outside the Java heap.
+ * <p>
+ * Every coffee is stored as a fixed-size record (name offset and length, hash, price, quality
+ * and volume) in native memory, with the names kept as UTF-8 bytes in a separate block and an
+ * open-addressing hash table of record numbers. The garbage collector therefore sees only a few
+ * objects, however many coffees the set holds. {@link Coffee} objects are created only by the
+ * iterator, as new objects on every iteration.
+ * <p>
+ * Since {@link Coffee} does not define {@code equals}, this set compares coffees by value: two
+ * coffees are the same element if their names, prices, qualities and volumes are equal. As with
+ * a {@code TreeSet} whose comparator is not consistent with equals, the {@link java.util.Set}
+ * contract is therefore kept for these values rather than for {@link Coffee#equals}.
+ * <p>
+ * The native memory is released by {@link #close()}, after which every operation throws
+ * {@link IllegalStateException}. The set is not thread-safe: its memory is allocated in confined
+ * arenas, so it may only be used, and closed, by the thread that created it.
+ */
+class OffHeapCoffeeSet extends AbstractSet<Coffee> implements AutoCloseable {
+    // Record layout, 40 bytes per coffee.
+    private static final long NAME_OFFSET = 0;
+    private static final long NAME_LENGTH = 8;
+    private static final long HASH = 12;
+    private static final long PRICE = 16;
+    private static final long QUALITY = 24;
+    private static final long VOLUME = 32;
+    private static final long RECORD_SIZE = 40;
+
+    private static final int NULL_NAME = -1;
+    private static final int MAX_TABLE_CAPACITY = 1 << 30;
+
+    private final NativeBlock records;
+    private final NativeBlock names;
+    private NativeBlock table;
+    private int tableMask;
+    private int size;
+    private long namesUsed;
+    private long namesGarbage;
+    private int modCount;
+    private boolean closed;
+
+    /**
+     * Constructs an empty OffHeapCoffeeSet.
+     */
+    public OffHeapCoffeeSet() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty OffHeapCoffeeSet with room for the given number of coffees.
+     *
+     * @param expectedSize the number of coffees the set is expected to hold
+     */
+    public OffHeapCoffeeSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative.");
+        }
+        int capacity = Math.max(16, expectedSize);
+        records = new NativeBlock(capacity * RECORD_SIZE);
+        names = new NativeBlock(capacity * 16L);
+        int tableCapacity = tableCapacityFor(capacity);
+        table = new NativeBlock(tableCapacity * 4L);
+        tableMask = tableCapacity - 1;
+    }
+
+    @Override
+    public int size() {
+        checkOpen();
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        checkOpen();
+        if (!(o instanceof Coffee coffee)) {
+            return false;
+        }
+        return findSlot(coffee, encode(coffee.getName()), hash(coffee)) >= 0;
+    }
+
+    @Override
+    public boolean add(Coffee coffee) {
+        checkOpen();
+        byte[] name = encode(coffee.getName());
+        int hash = hash(coffee);
+        int slot = findSlot(coffee, name, hash);
+        if (slot >= 0) {
+            return false;
+        }
+        if (size == Integer.MAX_VALUE - 1) {
+            throw new IllegalStateException("The set is full.");
+        }
+
+        long record = (long) size * RECORD_SIZE;
+        records.ensureCapacity(record + RECORD_SIZE);
+        MemorySegment segment = records.segment;
+        segment.set(ValueLayout.JAVA_LONG, record + NAME_OFFSET, storeName(name));
+        segment.set(ValueLayout.JAVA_INT, record + NAME_LENGTH, name == null ? NULL_NAME : name.length);
+        segment.set(ValueLayout.JAVA_INT, record + HASH, hash);
+        segment.set(ValueLayout.JAVA_DOUBLE, record + PRICE, coffee.getPricePerKg());
+        segment.set(ValueLayout.JAVA_DOUBLE, record + QUALITY, coffee.getQuality());
+        segment.set(ValueLayout.JAVA_DOUBLE, record + VOLUME, coffee.getVolume());
+
+        table.segment.set(ValueLayout.JAVA_INT, (long) ~slot * 4, size + 1);
+        size++;
+        modCount++;
+        if (size > (tableMask + 1) / 4 * 3) {
+            resizeTable((tableMask + 1) * 2);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        checkOpen();
+        if (!(o instanceof Coffee coffee)) {
+            return false;
+        }
+        int slot = findSlot(coffee, encode(coffee.getName()), hash(coffee));
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(table.segment.get(ValueLayout.JAVA_INT, slot * 4L) - 1, slot);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        table.segment.fill((byte) 0);
+        size = 0;
+        namesUsed = 0;
+        namesGarbage = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator that creates a new Coffee object for every stored record.
+     *
+     * @return an iterator over the coffees of the set
+     */
+    @Override
+    public Iterator<Coffee> iterator() {
+        checkOpen();
+        return new Iterator<Coffee>() {
+            private int next;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Coffee next() {
+                checkOpen();
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next++;
+                return materialize(last);
+            }
+
+            @Override
+            public void remove() {
+                checkOpen();
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeAt(last, slotOf(last));
+                // The last record was moved into the removed one's place and still has to be visited.
+                next = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Returns the sum of the value hashes of the stored coffees, so that sets holding the
+     * same coffee values have equal hash codes.
+     *
+     * @return the hash code of the set
+     */
+    @Override
+    public int hashCode() {
+        checkOpen();
+        int hashCode = 0;
+        for (int index = 0; index < size; index++) {
+            hashCode += records.segment.get(ValueLayout.JAVA_INT, index * RECORD_SIZE + HASH);
+        }
+        return hashCode;
+    }
+
+    /**
+     * Returns the number of bytes of native memory reserved by the set.
+     *
+     * @return the reserved native memory in bytes
+     */
+    public long reservedBytes() {
+        checkOpen();
+        return records.segment.byteSize() + names.segment.byteSize() + table.segment.byteSize();
+    }
+
+    /**
+     * Releases the native memory of the set. Closing an already closed set has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        records.close();
+        names.close();
+        table.close();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The set is closed.");
+        }
+    }
+
+    // Returns the table slot holding the coffee, or ~slot of the empty slot where it would be inserted.
+    private int findSlot(Coffee coffee, byte[] name, int hash) {
+        MemorySegment tableSegment = table.segment;
+        MemorySegment recordSegment = records.segment;
+        int slot = hash & tableMask;
+        while (true) {
+            int entry = tableSegment.get(ValueLayout.JAVA_INT, slot * 4L);
+            if (entry == 0) {
+                return ~slot;
+            }
+            long record = (entry - 1) * RECORD_SIZE;
+            if (recordSegment.get(ValueLayout.JAVA_INT, record + HASH) == hash
+                    && sameValue(recordSegment.get(ValueLayout.JAVA_DOUBLE, record + PRICE), coffee.getPricePerKg())
+                    && sameValue(recordSegment.get(ValueLayout.JAVA_DOUBLE, record + QUALITY), coffee.getQuality())
+                    && sameValue(recordSegment.get(ValueLayout.JAVA_DOUBLE, record + VOLUME), coffee.getVolume())
+                    && sameName(record, name)) {
+                return slot;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    private int slotOf(int index) {
+        int slot = records.segment.get(ValueLayout.JAVA_INT, index * RECORD_SIZE + HASH) & tableMask;
+        while (table.segment.get(ValueLayout.JAVA_INT, slot * 4L) != index + 1) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+
+    // Removes record `index` stored in table slot `slot`. The last record is moved into its place,
+    // so that the records stay contiguous.
+    private void removeAt(int index, int slot) {
+        MemorySegment recordSegment = records.segment;
+        long record = index * RECORD_SIZE;
+        int nameLength = recordSegment.get(ValueLayout.JAVA_INT, record + NAME_LENGTH);
+        namesGarbage += Math.max(0, nameLength);
+
+        deleteSlot(slot);
+        int lastIndex = size - 1;
+        if (index != lastIndex) {
+            int lastSlot = slotOf(lastIndex);
+            MemorySegment.copy(recordSegment, lastIndex * RECORD_SIZE, recordSegment, record, RECORD_SIZE);
+            table.segment.set(ValueLayout.JAVA_INT, lastSlot * 4L, index + 1);
+        }
+        size--;
+        modCount++;
+    }
+
+    // Backward-shift deletion keeps every probe sequence free of gaps without tombstones.
+    private void deleteSlot(int slot) {
+        MemorySegment tableSegment = table.segment;
+        int hole = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & tableMask;
+            int entry = tableSegment.get(ValueLayout.JAVA_INT, current * 4L);
+            if (entry == 0) {
+                break;
+            }
+            int home = records.segment.get(ValueLayout.JAVA_INT, (entry - 1) * RECORD_SIZE + HASH) & tableMask;
+            if (((current - home) & tableMask) >= ((current - hole) & tableMask)) {
+                tableSegment.set(ValueLayout.JAVA_INT, hole * 4L, entry);
+                hole = current;
+            }
+        }
+        tableSegment.set(ValueLayout.JAVA_INT, hole * 4L, 0);
+    }
+
+    private void resizeTable(int capacity) {
+        if (capacity > MAX_TABLE_CAPACITY) {
+            throw new IllegalStateException("The set is full.");
+        }
+        NativeBlock resized = new NativeBlock(capacity * 4L);
+        int mask = capacity - 1;
+        MemorySegment recordSegment = records.segment;
+        for (int index = 0; index < size; index++) {
+            int slot = recordSegment.get(ValueLayout.JAVA_INT, index * RECORD_SIZE + HASH) & mask;
+            while (resized.segment.get(ValueLayout.JAVA_INT, slot * 4L) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            resized.segment.set(ValueLayout.JAVA_INT, slot * 4L, index + 1);
+        }
+        table.close();
+        table = resized;
+        tableMask = mask;
+    }
+
+    private long storeName(byte[] name) {
+        if (name == null) {
+            return 0;
+        }
+        if (namesUsed + name.length > names.segment.byteSize() && namesGarbage > namesUsed / 2) {
+            compactNames();
+        }
+        names.ensureCapacity(namesUsed + name.length);
+        long offset = namesUsed;
+        MemorySegment.copy(name, 0, names.segment, ValueLayout.JAVA_BYTE, offset, name.length);
+        namesUsed += name.length;
+        return offset;
+    }
+
+    // Rewrites the names of the live records to the front of the block, dropping removed ones.
+    private void compactNames() {
+        NativeBlock compacted = new NativeBlock(Math.max(16, namesUsed - namesGarbage));
+        long used = 0;
+        MemorySegment recordSegment = records.segment;
+        for (int index = 0; index < size; index++) {
+            long record = index * RECORD_SIZE;
+            int length = recordSegment.get(ValueLayout.JAVA_INT, record + NAME_LENGTH);
+            if (length == NULL_NAME) {
+                continue;
+            }
+            long offset = recordSegment.get(ValueLayout.JAVA_LONG, record + NAME_OFFSET);
+            MemorySegment.copy(names.segment, offset, compacted.segment, used, length);
+            recordSegment.set(ValueLayout.JAVA_LONG, record + NAME_OFFSET, used);
+            used += length;
+        }
+        names.replace(compacted);
+        namesUsed = used;
+        namesGarbage = 0;
+    }
+
+    private boolean sameName(long record, byte[] name) {
+        MemorySegment recordSegment = records.segment;
+        int length = recordSegment.get(ValueLayout.JAVA_INT, record + NAME_LENGTH);
+        if (name == null || length == NULL_NAME) {
+            return name == null && length == NULL_NAME;
+        }
+        if (length != name.length) {
+            return false;
+        }
+        long offset = recordSegment.get(ValueLayout.JAVA_LONG, record + NAME_OFFSET);
+        return MemorySegment.mismatch(names.segment, offset, offset + length,
+                MemorySegment.ofArray(name), 0, length) == -1;
+    }
+
+    private Coffee materialize(int index) {
+        MemorySegment recordSegment = records.segment;
+        long record = index * RECORD_SIZE;
+        int length = recordSegment.get(ValueLayout.JAVA_INT, record + NAME_LENGTH);
+        String name = null;
+        if (length != NULL_NAME) {
+            byte[] bytes = new byte[length];
+            long offset = recordSegment.get(ValueLayout.JAVA_LONG, record + NAME_OFFSET);
+            MemorySegment.copy(names.segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new StoredCoffee(name,
+                recordSegment.get(ValueLayout.JAVA_DOUBLE, record + PRICE),
+                recordSegment.get(ValueLayout.JAVA_DOUBLE, record + QUALITY),
+                recordSegment.get(ValueLayout.JAVA_DOUBLE, record + VOLUME));
+    }
+
+    private static byte[] encode(String name) {
+        return name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(Coffee coffee) {
+        int hash = coffee.getName() == null ? 0 : coffee.getName().hashCode();
+        hash = 31 * hash + Double.hashCode(coffee.getPricePerKg());
+        hash = 31 * hash + Double.hashCode(coffee.getQuality());
+        hash = 31 * hash + Double.hashCode(coffee.getVolume());
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean sameValue(double stored, double value) {
+        return Double.doubleToLongBits(stored) == Double.doubleToLongBits(value);
+    }
+
+    private static int tableCapacityFor(int expectedSize) {
+        long capacity = Long.highestOneBit(Math.max(16, (long) expectedSize * 4 / 3 + 1) - 1) << 1;
+        return (int) Math.min(capacity, MAX_TABLE_CAPACITY);
+    }
+
+    /**
+     * Coffee created from a stored record.
+     */
+    private static final class StoredCoffee extends Coffee {
+        private final double volume;
+
+        StoredCoffee(String name, double pricePerKg, double quality, double volume) {
+            super(name, pricePerKg, quality);
+            this.volume = volume;
+        }
+
+        @Override
+        public double getVolume() {
+            return volume;
+        }
+    }
+
+    /**
+     * Growable block of native memory. Every allocation has its own confined arena, so the memory
+     * of a block that was grown or replaced is released at once instead of when the set is closed,
+     * and closing it needs no handshake with other threads.
+     */
+    private static final class NativeBlock implements AutoCloseable {
+        private Arena arena;
+        private MemorySegment segment;
+
+        NativeBlock(long bytes) {
+            arena = Arena.ofConfined();
+            segment = arena.allocate(bytes, 8);
+        }
+
+        void ensureCapacity(long bytes) {
+            long current = segment.byteSize();
+            if (bytes <= current) {
+                return;
+            }
+            NativeBlock grown = new NativeBlock(Math.max(bytes, current + (current >> 1)));
+            MemorySegment.copy(segment, 0, grown.segment, 0, current);
+            replace(grown);
+        }
+
+        void replace(NativeBlock other) {
+            arena.close();
+            arena = other.arena;
+            segment = other.segment;
+        }
+
+        @Override
+        public void close() {
+            arena.close();
+        }
+    }
+}
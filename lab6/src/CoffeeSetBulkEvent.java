@@ -0,0 +1,29 @@
+import profiling.AllocationTrackingEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for bulk operations on a {@link CoffeeSet}.
+ */
+@Name("lab6.CoffeeSetBulkOperation")
+@Label("CoffeeSet Bulk Operation")
+@Category({"Labs", "Lab6"})
+@Description("addAll, retainAll, removeAll or a set algebra operation on a CoffeeSet")
+class CoffeeSetBulkEvent extends AllocationTrackingEvent {
+    @Label("Operation")
+    String operation;
+
+    @Label("Argument Size")
+    @Description("Number of elements in the argument collection")
+    int argumentSize;
+
+    @Label("Size Before")
+    int sizeBefore;
+
+    @Label("Size After")
+    @Description("Size of the set after the operation, or of the result for set algebra operations; -1 if the operation failed")
+    int sizeAfter;
+}
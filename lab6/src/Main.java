@@ -1,4 +1,9 @@
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Abstract class representing a Coffee.
@@ -66,8 +71,23 @@ abstract class Coffee {
 
 /**
  * Represents a doubly linked list-based set for Coffee objects.
+ * <p>
+ * Single-element lookups scan the list. Bulk operations and the set algebra methods
+ * ({@link #union}, {@link #intersection}, {@link #difference}, {@link #symmetricDifference})
+ * hash one operand instead and run in time linear in the sizes of both operands. Elements keep
+ * the order of the list, followed by new elements in the order of the argument.
+ * <p>
+ * The algebra methods can also probe the hashed operand from several threads. Hashing it,
+ * walking the list and linking the result stay on the calling thread, so this pays off only
+ * with several free cores and operands of hundreds of thousands of elements; on a single core
+ * it takes as long as the sequential version.
  */
 class CoffeeSet implements Set<Coffee> {
+    private static final Histogram SCAN_LENGTH = MetricsRegistry.histogram("lab6.coffeeSet.scanLength");
+
+    // containsAll scans the list for each element of a collection up to this size and hashes the set for larger ones.
+    private static final int CONTAINS_ALL_SCAN_LIMIT = 8;
+
     private static class Node {
         Coffee data;
         Node next;
@@ -127,12 +147,16 @@ class CoffeeSet implements Set<Coffee> {
             return false;
         }
         Node current = head;
+        int visited = 0;
         while (current != null) {
+            visited++;
             if (current.data.equals(o)) {
+                SCAN_LENGTH.record(visited);
                 return true;
             }
             current = current.next;
         }
+        SCAN_LENGTH.record(visited);
         return false;
     }
 
@@ -193,6 +217,11 @@ class CoffeeSet implements Set<Coffee> {
         if (contains(coffee)) {
             return false;
         }
+        append(coffee);
+        return true;
+    }
+
+    private void append(Coffee coffee) {
         Node newNode = new Node(coffee);
         if (tail == null) {
             head = newNode;
@@ -203,7 +232,6 @@ class CoffeeSet implements Set<Coffee> {
             tail = newNode;
         }
         size++;
-        return true;
     }
 
     @Override
@@ -212,30 +240,40 @@ class CoffeeSet implements Set<Coffee> {
             return false;
         }
         Node current = head;
+        int visited = 0;
         while (current != null) {
+            visited++;
             if (current.data.equals(o)) {
-                if (current.prev != null) {
-                    current.prev.next = current.next;
-                } else {
-                    head = current.next;
-                }
-                if (current.next != null) {
-                    current.next.prev = current.prev;
-                } else {
-                    tail = current.prev;
-                }
-                size--;
+                SCAN_LENGTH.record(visited);
+                unlink(current);
                 return true;
             }
             current = current.next;
         }
+        SCAN_LENGTH.record(visited);
         return false;
     }
 
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        size--;
+    }
+
     @Override
     public boolean containsAll(Collection<?> c) {
+        Predicate<Object> elements =
+                c.size() <= CONTAINS_ALL_SCAN_LIMIT ? this::contains : new HashIndex(toArray())::contains;
         for (Object o : c) {
-            if (!contains(o)) {
+            if (!elements.test(o)) {
                 return false;
             }
         }
@@ -244,35 +282,244 @@ class CoffeeSet implements Set<Coffee> {
 
     @Override
     public boolean addAll(Collection<? extends Coffee> c) {
-        boolean modified = false;
-        for (Coffee coffee : c) {
-            modified |= add(coffee);
+        CoffeeSetBulkEvent event = new CoffeeSetBulkEvent();
+        event.start();
+        int argumentSize = c.size();
+        int sizeBefore = size;
+        try {
+            boolean modified = false;
+            HashIndex elements = new HashIndex(size + argumentSize);
+            for (Node current = head; current != null; current = current.next) {
+                elements.add(current.data);
+            }
+            for (Coffee coffee : c) {
+                if (elements.add(coffee)) {
+                    append(coffee);
+                    modified = true;
+                }
+            }
+            return modified;
+        } finally {
+            commitEvent(event, "addAll", argumentSize, sizeBefore, size);
         }
-        return modified;
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        boolean modified = false;
-        Node current = head;
-        while (current != null) {
-            Node next = current.next;
-            if (!c.contains(current.data)) {
-                remove(current.data);
-                modified = true;
-            }
-            current = next;
-        }
-        return modified;
+        return removeMatching(c, false, "retainAll");
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        boolean modified = false;
-        for (Object o : c) {
-            modified |= remove(o);
+        return removeMatching(c, true, "removeAll");
+    }
+
+    // Unlinks the nodes whose membership in c equals `contained` in one pass over the list.
+    private boolean removeMatching(Collection<?> c, boolean contained, String operation) {
+        CoffeeSetBulkEvent event = new CoffeeSetBulkEvent();
+        event.start();
+        // Taken before the change, as c may be this set.
+        int argumentSize = c.size();
+        int sizeBefore = size;
+        try {
+            Predicate<Object> lookup = lookup(c);
+            for (Node current = head; current != null; current = current.next) {
+                if (lookup.test(current.data) == contained) {
+                    unlink(current);
+                }
+            }
+            return size != sizeBefore;
+        } finally {
+            commitEvent(event, operation, argumentSize, sizeBefore, size);
+        }
+    }
+
+    /**
+     * Returns a new set with the elements of this set followed by the elements of the collection
+     * that are not in this set.
+     *
+     * @param other the collection to unite with
+     * @return the union of this set and the collection
+     */
+    public CoffeeSet union(Collection<? extends Coffee> other) {
+        return union(other, false);
+    }
+
+    /**
+     * Returns a new set with the elements of this set followed by the elements of the collection
+     * that are not in this set.
+     *
+     * @param other    the collection to unite with
+     * @param parallel whether to filter the collection in parallel
+     * @return the union of this set and the collection
+     */
+    public CoffeeSet union(Collection<? extends Coffee> other, boolean parallel) {
+        CoffeeSetBulkEvent event = new CoffeeSetBulkEvent();
+        event.start();
+        int argumentSize = other.size();
+        int sizeBefore = size;
+        CoffeeSet result = null;
+        try {
+            Object[] elements = toArray();
+            Object[] added = filter(distinct(other), new HashIndex(elements)::contains, false, parallel);
+            result = fromDistinct(elements, added);
+            return result;
+        } finally {
+            commitEvent(event, "union", argumentSize, sizeBefore, result);
+        }
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are contained in the collection.
+     *
+     * @param other the collection to intersect with
+     * @return the intersection of this set and the collection
+     */
+    public CoffeeSet intersection(Collection<?> other) {
+        return intersection(other, false);
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are contained in the collection.
+     *
+     * @param other    the collection to intersect with
+     * @param parallel whether to filter this set in parallel
+     * @return the intersection of this set and the collection
+     */
+    public CoffeeSet intersection(Collection<?> other, boolean parallel) {
+        CoffeeSetBulkEvent event = new CoffeeSetBulkEvent();
+        event.start();
+        int argumentSize = other.size();
+        int sizeBefore = size;
+        CoffeeSet result = null;
+        try {
+            result = fromDistinct(filter(toArray(), lookup(other), true, parallel));
+            return result;
+        } finally {
+            commitEvent(event, "intersection", argumentSize, sizeBefore, result);
+        }
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are not contained in the collection.
+     *
+     * @param other the collection to subtract
+     * @return the difference of this set and the collection
+     */
+    public CoffeeSet difference(Collection<?> other) {
+        return difference(other, false);
+    }
+
+    /**
+     * Returns a new set with the elements of this set that are not contained in the collection.
+     *
+     * @param other    the collection to subtract
+     * @param parallel whether to filter this set in parallel
+     * @return the difference of this set and the collection
+     */
+    public CoffeeSet difference(Collection<?> other, boolean parallel) {
+        CoffeeSetBulkEvent event = new CoffeeSetBulkEvent();
+        event.start();
+        int argumentSize = other.size();
+        int sizeBefore = size;
+        CoffeeSet result = null;
+        try {
+            result = fromDistinct(filter(toArray(), lookup(other), false, parallel));
+            return result;
+        } finally {
+            commitEvent(event, "difference", argumentSize, sizeBefore, result);
         }
-        return modified;
+    }
+
+    /**
+     * Returns a new set with the elements that are in exactly one of this set and the collection.
+     *
+     * @param other the collection to compare with
+     * @return the symmetric difference of this set and the collection
+     */
+    public CoffeeSet symmetricDifference(Collection<? extends Coffee> other) {
+        return symmetricDifference(other, false);
+    }
+
+    /**
+     * Returns a new set with the elements that are in exactly one of this set and the collection.
+     *
+     * @param other    the collection to compare with
+     * @param parallel whether to filter both operands in parallel
+     * @return the symmetric difference of this set and the collection
+     */
+    public CoffeeSet symmetricDifference(Collection<? extends Coffee> other, boolean parallel) {
+        CoffeeSetBulkEvent event = new CoffeeSetBulkEvent();
+        event.start();
+        int argumentSize = other.size();
+        int sizeBefore = size;
+        CoffeeSet result = null;
+        try {
+            Object[] elements = toArray();
+            Object[] onlyHere = filter(elements, lookup(other), false, parallel);
+            Object[] onlyThere = filter(distinct(other), new HashIndex(elements)::contains, false, parallel);
+            result = fromDistinct(onlyHere, onlyThere);
+            return result;
+        } finally {
+            commitEvent(event, "symmetricDifference", argumentSize, sizeBefore, result);
+        }
+    }
+
+    // Sets other than CoffeeSet answer contains() quickly and with their own semantics, as the
+    // Set contract expects; everything else is copied into a hash index.
+    private static Predicate<Object> lookup(Collection<?> c) {
+        if (c instanceof Set<?> set && !(c instanceof CoffeeSet)) {
+            return set::contains;
+        }
+        return new HashIndex(c.toArray())::contains;
+    }
+
+    private static Object[] distinct(Collection<?> c) {
+        Object[] elements = c.toArray();
+        if (c instanceof Set<?>) {
+            return elements;
+        }
+        HashIndex seen = new HashIndex(elements.length);
+        int count = 0;
+        for (Object element : elements) {
+            if (seen.add(element)) {
+                elements[count++] = element;
+            }
+        }
+        return Arrays.copyOf(elements, count);
+    }
+
+    // The lookup is built before and only read here, so in parallel mode the threads probe it
+    // without any synchronization, each writing the flags of its own range; the flags are then
+    // compacted in order on the calling thread.
+    private static Object[] filter(Object[] elements, Predicate<Object> lookup, boolean contained, boolean parallel) {
+        boolean[] keep = new boolean[elements.length];
+        IntStream indexes = IntStream.range(0, elements.length);
+        (parallel ? indexes.parallel() : indexes).forEach(i -> keep[i] = lookup.test(elements[i]) == contained);
+        int count = 0;
+        for (boolean k : keep) {
+            if (k) {
+                count++;
+            }
+        }
+        Object[] kept = new Object[count];
+        int index = 0;
+        for (int i = 0; i < elements.length; i++) {
+            if (keep[i]) {
+                kept[index++] = elements[i];
+            }
+        }
+        return kept;
+    }
+
+    private static CoffeeSet fromDistinct(Object[]... parts) {
+        CoffeeSet result = new CoffeeSet();
+        for (Object[] part : parts) {
+            for (Object element : part) {
+                result.append((Coffee) element);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -281,6 +528,93 @@ class CoffeeSet implements Set<Coffee> {
         tail = null;
         size = 0;
     }
+
+    /**
+     * Open-addressing hash table with linear probing that the bulk operations build for one
+     * operand. Unlike a {@link HashSet} it allocates two arrays instead of a node per element, and
+     * it keeps the hash of every element next to it, so a probe reads the element itself only when
+     * the hashes match. The table is sized for the expected number of elements and never grows.
+     */
+    private static final class HashIndex {
+        private final Object[] keys;
+        private final int[] hashes;
+        private final int mask;
+        private boolean containsNull;
+
+        HashIndex(int expectedSize) {
+            // A power of two at least twice the expected size keeps probe sequences short.
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+            keys = new Object[capacity];
+            hashes = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        HashIndex(Object[] elements) {
+            this(elements.length);
+            for (Object element : elements) {
+                add(element);
+            }
+        }
+
+        boolean add(Object o) {
+            if (o == null) {
+                boolean added = !containsNull;
+                containsNull = true;
+                return added;
+            }
+            int hash = hash(o);
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object key = keys[i];
+                if (key == null) {
+                    keys[i] = o;
+                    hashes[i] = hash;
+                    return true;
+                }
+                if (hashes[i] == hash && (key == o || key.equals(o))) {
+                    return false;
+                }
+            }
+        }
+
+        boolean contains(Object o) {
+            if (o == null) {
+                return containsNull;
+            }
+            int hash = hash(o);
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Object key = keys[i];
+                if (key == null) {
+                    return false;
+                }
+                if (hashes[i] == hash && (key == o || key.equals(o))) {
+                    return true;
+                }
+            }
+        }
+
+        // Spreads consecutive hash codes over the table before masking.
+        private static int hash(Object o) {
+            int h = o.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // The result is null if the operation failed.
+    private static void commitEvent(CoffeeSetBulkEvent event, String operation, int argumentSize, int sizeBefore,
+                                    CoffeeSet result) {
+        commitEvent(event, operation, argumentSize, sizeBefore, result == null ? -1 : result.size);
+    }
+
+    private static void commitEvent(CoffeeSetBulkEvent event, String operation, int argumentSize, int sizeBefore,
+                                    int sizeAfter) {
+        if (event.finish()) {
+            event.operation = operation;
+            event.argumentSize = argumentSize;
+            event.sizeBefore = sizeBefore;
+            event.sizeAfter = sizeAfter;
+            event.commit();
+        }
+    }
 }
 
 /**
@@ -334,5 +668,10 @@ public class Main {
         for (Coffee coffee : coffeeSet) {
             System.out.println(coffee);
         }
+
+        if (MetricsRegistry.isEnabled()) {
+            System.out.println();
+            System.out.print(MetricsRegistry.dump());
+        }
     }
 }
@@ -0,0 +1,180 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoffeeSetAlgebraTest {
+    private static final SplittableRandom RANDOM = new SplittableRandom(3);
+
+    @Test
+    void algebraMatchesHashSetInListOrder() {
+        List<Coffee> pool = coffees(400);
+        for (int round = 0; round < 50; round++) {
+            CoffeeSet set = new CoffeeSet(sample(pool, RANDOM.nextInt(0, 300)));
+            List<Coffee> other = sampleWithDuplicates(pool, RANDOM.nextInt(0, 300));
+            for (boolean parallel : new boolean[]{false, true}) {
+                Set<Coffee> union = new LinkedHashSet<>(set);
+                union.addAll(other);
+                assertOrderedEquals(union, set.union(other, parallel));
+
+                Set<Coffee> intersection = new LinkedHashSet<>(set);
+                intersection.retainAll(new HashSet<>(other));
+                assertOrderedEquals(intersection, set.intersection(other, parallel));
+
+                Set<Coffee> difference = new LinkedHashSet<>(set);
+                difference.removeAll(new HashSet<>(other));
+                assertOrderedEquals(difference, set.difference(other, parallel));
+
+                Set<Coffee> symmetric = new LinkedHashSet<>(difference);
+                for (Coffee coffee : other) {
+                    if (!set.contains(coffee)) {
+                        symmetric.add(coffee);
+                    }
+                }
+                assertOrderedEquals(symmetric, set.symmetricDifference(other, parallel));
+            }
+        }
+    }
+
+    @Test
+    void bulkMutatorsMatchHashSet() {
+        List<Coffee> pool = coffees(200);
+        for (int round = 0; round < 50; round++) {
+            List<Coffee> initial = sample(pool, RANDOM.nextInt(0, 150));
+            List<Coffee> other = sampleWithDuplicates(pool, RANDOM.nextInt(0, 150));
+
+            CoffeeSet set = new CoffeeSet(initial);
+            Set<Coffee> expected = new LinkedHashSet<>(initial);
+            assertEquals(expected.addAll(other), set.addAll(other));
+            assertOrderedEquals(expected, set);
+
+            set = new CoffeeSet(initial);
+            expected = new LinkedHashSet<>(initial);
+            assertEquals(expected.retainAll(new HashSet<>(other)), set.retainAll(other));
+            assertOrderedEquals(expected, set);
+
+            set = new CoffeeSet(initial);
+            expected = new LinkedHashSet<>(initial);
+            assertEquals(expected.removeAll(new HashSet<>(other)), set.removeAll(other));
+            assertOrderedEquals(expected, set);
+
+            set = new CoffeeSet(initial);
+            assertEquals(new HashSet<>(initial).containsAll(other), set.containsAll(other));
+        }
+    }
+
+    @Test
+    void containsAllMatchesHashSetForSmallAndLargeCollections() {
+        List<Coffee> pool = coffees(100);
+        CoffeeSet set = new CoffeeSet(pool.subList(0, 60));
+        Set<Coffee> expected = new HashSet<>(pool.subList(0, 60));
+        for (int round = 0; round < 200; round++) {
+            // Small collections are checked by scanning the list, larger ones through a hash set.
+            List<Coffee> other = sampleWithDuplicates(pool.subList(0, RANDOM.nextBoolean() ? 60 : 100),
+                    RANDOM.nextInt(0, round % 2 == 0 ? 12 : 80));
+            assertEquals(expected.containsAll(other), set.containsAll(other));
+        }
+    }
+
+    @Test
+    void bulkOperationsWithItself() {
+        List<Coffee> pool = coffees(50);
+        CoffeeSet set = new CoffeeSet(pool);
+        assertTrue(set.containsAll(set));
+        assertFalse(set.addAll(set));
+        assertFalse(set.retainAll(set));
+        assertEquals(50, set.size());
+        assertTrue(set.removeAll(set));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void algebraUsesEqualsAndAcceptsNullArguments() {
+        // Equal by name, and all in one of four hash buckets, so probes have to compare with equals.
+        List<Coffee> pool = new ArrayList<>();
+        List<Coffee> copies = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pool.add(new NamedCoffee("Coffee " + i));
+            copies.add(new NamedCoffee("Coffee " + i));
+        }
+        for (int round = 0; round < 20; round++) {
+            CoffeeSet set = new CoffeeSet(sample(pool, RANDOM.nextInt(0, 80)));
+            List<Coffee> other = sampleWithDuplicates(copies, RANDOM.nextInt(0, 80));
+            other.add(RANDOM.nextInt(other.size() + 1), null);
+            other.add(null);
+            for (boolean parallel : new boolean[]{false, true}) {
+                Set<Coffee> union = new LinkedHashSet<>(set);
+                union.addAll(other);
+                assertOrderedEquals(union, set.union(other, parallel));
+
+                Set<Coffee> intersection = new LinkedHashSet<>(set);
+                intersection.retainAll(new HashSet<>(other));
+                assertOrderedEquals(intersection, set.intersection(other, parallel));
+
+                Set<Coffee> difference = new LinkedHashSet<>(set);
+                difference.removeAll(new HashSet<>(other));
+                assertOrderedEquals(difference, set.difference(other, parallel));
+            }
+        }
+    }
+
+    private static final class NamedCoffee extends Coffee {
+        NamedCoffee(String name) {
+            super(name, 10, 50);
+        }
+
+        @Override
+        public double getVolume() {
+            return 1.0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NamedCoffee other && getName().equals(other.getName());
+        }
+
+        @Override
+        public int hashCode() {
+            return getName().length() % 4;
+        }
+    }
+
+    private static void assertOrderedEquals(Collection<Coffee> expected, CoffeeSet actual) {
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+        assertEquals(expected.size(), actual.size());
+    }
+
+    private static List<Coffee> coffees(int count) {
+        List<Coffee> coffees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            coffees.add(new Coffee("Coffee " + i, 10 + i, 50 + i % 50) {
+                @Override
+                public double getVolume() {
+                    return 1.0;
+                }
+            });
+        }
+        return coffees;
+    }
+
+    private static List<Coffee> sample(List<Coffee> pool, int count) {
+        return new ArrayList<>(new LinkedHashSet<>(sampleWithDuplicates(pool, count)));
+    }
+
+    private static List<Coffee> sampleWithDuplicates(List<Coffee> pool, int count) {
+        List<Coffee> sample = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sample.add(pool.get(RANDOM.nextInt(pool.size())));
+        }
+        return sample;
+    }
+}
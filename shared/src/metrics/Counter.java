@@ -0,0 +1,50 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free monotonically increasing counter.
+ * <p>
+ * When metrics are disabled the increment methods do nothing; the check is on a
+ * {@code static final} flag, so the JIT removes it from the caller entirely.
+ */
+public final class Counter implements CounterMXBean {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        if (MetricsRegistry.ENABLED) {
+            count.increment();
+        }
+    }
+
+    public void add(long delta) {
+        if (MetricsRegistry.ENABLED) {
+            count.add(delta);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + " count=" + getCount();
+    }
+}
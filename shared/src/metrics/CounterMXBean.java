@@ -0,0 +1,13 @@
+package metrics;
+
+/**
+ * JMX view of a {@link Counter}.
+ */
+public interface CounterMXBean {
+
+    String getName();
+
+    long getCount();
+
+    void reset();
+}
@@ -0,0 +1,179 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative {@code long} values with HDR-style log-linear buckets.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so a reported
+ * percentile is within about 3% of the recorded value. Values from 0 up to 2<sup>40</sup>
+ * (about 18 minutes in nanoseconds) are tracked; larger values are only counted in
+ * {@link #getOverflowCount()}.
+ * <p>
+ * {@link #start()} and {@link #stop(long)} time a section of code. Like {@link Counter},
+ * all recording methods are no-ops when metrics are disabled.
+ */
+public final class Histogram implements HistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the start timestamp for {@link #stop(long)}, or 0 when metrics are disabled.
+     */
+    public long start() {
+        return MetricsRegistry.ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the nanoseconds elapsed since {@code startNanos} obtained from {@link #start()}.
+     */
+    public void stop(long startNanos) {
+        if (MetricsRegistry.ENABLED) {
+            recordValue(System.nanoTime() - startNanos);
+        }
+    }
+
+    public void record(long value) {
+        if (MetricsRegistry.ENABLED) {
+            recordValue(value);
+        }
+    }
+
+    private void recordValue(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+        int index = bucketIndex(value);
+        if (index >= BUCKETS) {
+            overflow.increment();
+        } else {
+            buckets.incrementAndGet(index);
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Largest value that falls into the bucket.
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Returns the smallest tracked value such that at least {@code percentile} percent of
+     * the recorded values are not greater than it, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    @Override
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getP90() {
+        return getValueAtPercentile(90);
+    }
+
+    @Override
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public long getOverflowCount() {
+        return overflow.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        overflow.reset();
+        max.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d mean=%.1f p50=%d p90=%d p99=%d p99.9=%d max=%d overflow=%d",
+                name, getCount(), getMean(), getP50(), getP90(), getP99(), getP999(), getMax(), getOverflowCount());
+    }
+}
@@ -0,0 +1,28 @@
+package metrics;
+
+/**
+ * JMX view of a {@link Histogram}. Percentiles are reported in the recorded unit
+ * (nanoseconds for timers).
+ */
+public interface HistogramMXBean {
+
+    String getName();
+
+    long getCount();
+
+    long getMax();
+
+    double getMean();
+
+    long getP50();
+
+    long getP90();
+
+    long getP99();
+
+    long getP999();
+
+    long getOverflowCount();
+
+    void reset();
+}
@@ -0,0 +1,73 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of named {@link Counter}s and {@link Histogram}s.
+ * <p>
+ * Metrics are opt-in: they are recorded only when the JVM is started with
+ * {@code -Dmetrics.enabled=true}. The flag is read once into a {@code static final} field,
+ * so with metrics disabled every recording call compiles down to nothing.
+ * <p>
+ * When enabled, each metric is also registered as a platform MXBean named
+ * {@code metrics:type=Counter|Histogram,name=<name>}, and {@link #dump()} renders all
+ * metrics as text.
+ */
+public final class MetricsRegistry {
+    static final boolean ENABLED = Boolean.getBoolean("metrics.enabled");
+
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> register(new Counter(key), "Counter", key));
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> register(new Histogram(key), "Histogram", key));
+    }
+
+    /**
+     * Returns every metric, one per line, sorted by name.
+     */
+    public static String dump() {
+        Map<String, Object> sorted = new TreeMap<>();
+        sorted.putAll(COUNTERS);
+        sorted.putAll(HISTOGRAMS);
+
+        StringBuilder text = new StringBuilder();
+        for (Object metric : sorted.values()) {
+            text.append(metric).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    private static <T> T register(T metric, String type, String name) {
+        if (ENABLED) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName("metrics:type=" + type + ",name=" + ObjectName.quote(name));
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(metric, objectName);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register metric " + name, e);
+            }
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,59 @@
+package profiling;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class for JFR events that also record how many bytes the calling thread allocated
+ * between {@link #start()} and {@link #finish()}.
+ * <p>
+ * The allocation counter is only read when the event is enabled in a recording, so the
+ * events cost nothing extra otherwise. Typical use keeps the operation in a {@code try}
+ * block, so the event is ended even if the operation throws:
+ * <pre>{@code
+ * MyEvent event = new MyEvent();
+ * event.start();
+ * try {
+ *     ...
+ * } finally {
+ *     if (event.finish()) {
+ *         event.size = ...;
+ *         event.commit();
+ *     }
+ * }
+ * }</pre>
+ */
+public abstract class AllocationTrackingEvent extends Event {
+    @Label("Allocated")
+    @Description("Bytes allocated by the calling thread, -1 if unknown")
+    @DataAmount(DataAmount.BYTES)
+    protected long allocatedBytes;
+
+    // Transient fields are not written to the recording.
+    private transient long allocatedAtStart = -1;
+
+    /**
+     * Takes the allocation counter if the event is enabled and begins timing the event.
+     */
+    public final void start() {
+        allocatedAtStart = isEnabled() ? Allocations.currentThreadAllocatedBytes() : -1;
+        begin();
+    }
+
+    /**
+     * Ends timing the event and fills in the allocated bytes if it is to be committed.
+     *
+     * @return whether the event passed the recording thresholds; the caller fills in the
+     *         remaining fields and calls {@link #commit()} only in that case
+     */
+    public final boolean finish() {
+        end();
+        if (!shouldCommit()) {
+            return false;
+        }
+        allocatedBytes = Allocations.since(allocatedAtStart);
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-thread allocation counter used to attach an allocation estimate to JFR events.
+ * <p>
+ * Relies on the HotSpot extension {@code com.sun.management.ThreadMXBean}. On JVMs without
+ * it, or with allocation measurement turned off, {@link #currentThreadAllocatedBytes()}
+ * returns -1 and {@link #since(long)} returns -1 as well. HotSpot measures allocations by
+ * default; reading the counter never changes that setting, and {@link #enable()} turns the
+ * measurement on explicitly for the whole JVM.
+ */
+public final class Allocations {
+    private static final com.sun.management.ThreadMXBean THREADS = lookup();
+
+    private Allocations() {
+    }
+
+    /**
+     * Turns on thread allocation measurement for all threads of the JVM.
+     *
+     * @return whether allocation measurement is supported and now enabled
+     */
+    public static boolean enable() {
+        if (THREADS == null) {
+            return false;
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        return true;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread since {@code startBytes}
+     * was taken with {@link #currentThreadAllocatedBytes()}.
+     */
+    public static long since(long startBytes) {
+        if (startBytes < 0) {
+            return -1;
+        }
+        long now = currentThreadAllocatedBytes();
+        return now < 0 ? -1 : now - startBytes;
+    }
+
+    private static com.sun.management.ThreadMXBean lookup() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,437 @@
+package textservice;
+
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Line-protocol server that runs a text analysis function for every received document.
+ * <p>
+ * Every request is one line {@code <id>\t<document>} and gets exactly one response line:
+ * {@code <id>\tOK\t<result>}, {@code <id>\tBUSY} when the request was not admitted, or
+ * {@code <id>\tERROR\t<message>}. Responses on a connection can arrive in a different
+ * order than the requests, which is why they repeat the id.
+ * <ul>
+ *     <li>Every connection and every analysis runs on its own virtual thread. Responses are
+ *     written by one more virtual thread per connection, so a client that reads slowly only
+ *     delays its own responses; the output is flushed whenever no more responses are queued.</li>
+ *     <li>A connection has at most {@link Config#maxQueuedResponses} requests that are admitted
+ *     or rejected but whose responses are not written yet. When it reaches the limit it stops
+ *     reading until its writer catches up, so a client that does not read its responses is
+ *     slowed down by TCP flow control instead of filling the heap with them.</li>
+ *     <li>At most {@link Config#maxInFlight} documents are processed at once. A request that
+ *     cannot be admitted within {@link Config#admissionTimeoutMillis} is answered with
+ *     {@code BUSY}. While waiting for admission the connection stops reading, so a fast
+ *     client is slowed down by TCP flow control.</li>
+ *     <li>Documents of up to {@link Config#batchThreshold} characters are collected into
+ *     batches of up to {@link Config#maxBatchSize} that are analysed on one virtual thread,
+ *     saving a thread per tiny document. A batch waits at most {@link Config#batchDelayMicros}
+ *     for more documents.</li>
+ * </ul>
+ * {@link #close()} stops accepting connections and requests, answers documents that are still
+ * waiting for a batch with {@code ERROR}, lets the admitted ones finish for up to
+ * {@link #SHUTDOWN_GRACE_SECONDS} seconds and then closes the client connections.
+ * <p>
+ * The same protocol is served over standard input/output by {@link #serve(BufferedReader, Writer)}.
+ */
+public final class AnalysisServer implements AutoCloseable {
+    private static final Histogram LATENCY = MetricsRegistry.histogram("textservice.latency");
+    private static final Counter ACCEPTED = MetricsRegistry.counter("textservice.accepted");
+    private static final Counter REJECTED = MetricsRegistry.counter("textservice.rejected");
+    private static final Counter BATCHES = MetricsRegistry.counter("textservice.batches");
+    private static final long SHUTDOWN_GRACE_SECONDS = 5;
+    private static final String SHUTDOWN_MESSAGE = "server is shutting down";
+
+    private final Function<String, String> analyzer;
+    private final Config config;
+    private final Semaphore admission;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BlockingQueue<Request> smallDocuments = new LinkedBlockingQueue<>();
+    private final Thread batcher;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Limits and batching parameters of the server.
+     *
+     * @param maxInFlight            maximum number of admitted, not yet answered documents
+     * @param admissionTimeoutMillis how long a request waits for admission before {@code BUSY}
+     * @param batchThreshold         documents of at most this many characters are batched
+     * @param maxBatchSize           maximum number of documents in one batch
+     * @param batchDelayMicros       maximum time a batch waits to be filled
+     * @param maxQueuedResponses     maximum number of unwritten responses of one connection
+     */
+    public record Config(int maxInFlight, long admissionTimeoutMillis, int batchThreshold,
+                         int maxBatchSize, long batchDelayMicros, int maxQueuedResponses) {
+
+        public static final Config DEFAULT = new Config(4096, 100, 512, 64, 200, 1024);
+
+        public Config {
+            if (maxInFlight <= 0 || admissionTimeoutMillis < 0 || batchThreshold < 0
+                    || maxBatchSize <= 0 || batchDelayMicros < 0 || maxQueuedResponses <= 0) {
+                throw new IllegalArgumentException("Invalid server configuration");
+            }
+        }
+    }
+
+    public AnalysisServer(Function<String, String> analyzer, Config config) {
+        if (analyzer == null || config == null) {
+            throw new IllegalArgumentException("Analyzer and configuration must not be null");
+        }
+        this.analyzer = analyzer;
+        this.config = config;
+        this.admission = new Semaphore(config.maxInFlight());
+        this.batcher = Thread.ofVirtual().name("textservice-batcher").start(this::runBatcher);
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve(ServerSocket socket) throws IOException {
+        serverSocket = socket;
+        while (!closed) {
+            Socket client;
+            try {
+                client = socket.accept();
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                throw e;
+            }
+            clients.add(client);
+            try {
+                executor.execute(() -> {
+                    try (client) {
+                        client.setTcpNoDelay(true);
+                        serve(new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)),
+                                new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8)));
+                    } catch (IOException e) {
+                        // the client went away; its pending responses are dropped
+                    } finally {
+                        clients.remove(client);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                clients.remove(client);
+                client.close();
+            }
+        }
+    }
+
+    /**
+     * Serves one connection: reads requests until end of input and returns after every
+     * admitted request has been answered.
+     */
+    public void serve(BufferedReader in, Writer out) throws IOException {
+        Connection connection = new Connection(out, config.maxQueuedResponses());
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (!connection.reserve()) {
+                    break;
+                }
+                int tab = line.indexOf('\t');
+                String id = tab < 0 ? line : line.substring(0, tab);
+                String document = tab < 0 ? "" : line.substring(tab + 1);
+
+                if (!admit()) {
+                    REJECTED.increment();
+                    connection.respond(id + "\tBUSY");
+                    continue;
+                }
+                ACCEPTED.increment();
+
+                Request request = new Request(id, document, connection, LATENCY.start());
+                connection.started();
+                if (document.length() <= config.batchThreshold()) {
+                    smallDocuments.add(request);
+                    if (closed) {
+                        // the batcher may already be gone; whoever polls a request first answers it
+                        failQueued();
+                    }
+                } else {
+                    try {
+                        executor.execute(() -> process(request));
+                    } catch (RejectedExecutionException e) {
+                        fail(request, SHUTDOWN_MESSAGE);
+                    }
+                }
+            }
+        } finally {
+            connection.awaitPending();
+            connection.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        batcher.interrupt();
+        boolean interrupted = false;
+        while (batcher.isAlive()) {
+            try {
+                batcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        failQueued();
+
+        // Connections stop reading new requests but still write the responses of admitted ones.
+        for (Socket client : clients) {
+            try {
+                client.shutdownInput();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        for (Socket client : clients) {
+            client.close();
+        }
+        executor.close();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean admit() {
+        try {
+            return admission.tryAcquire(config.admissionTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runBatcher() {
+        List<Request> batch = new ArrayList<>(config.maxBatchSize());
+        try {
+            while (!closed) {
+                batch.add(smallDocuments.take());
+                long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(config.batchDelayMicros());
+                while (batch.size() < config.maxBatchSize()) {
+                    smallDocuments.drainTo(batch, config.maxBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= config.maxBatchSize() || remaining <= 0) {
+                        break;
+                    }
+                    Request next = smallDocuments.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                List<Request> ready = List.copyOf(batch);
+                batch.clear();
+                BATCHES.increment();
+                executor.execute(() -> {
+                    for (Request request : ready) {
+                        process(request);
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            // interrupted by close(); the documents collected so far are answered there as well
+            for (Request request : batch) {
+                fail(request, SHUTDOWN_MESSAGE);
+            }
+        }
+    }
+
+    private void failQueued() {
+        Request request;
+        while ((request = smallDocuments.poll()) != null) {
+            fail(request, SHUTDOWN_MESSAGE);
+        }
+    }
+
+    private void process(Request request) {
+        String response;
+        try {
+            String result = analyzer.apply(request.document());
+            response = request.id() + "\tOK\t" + result.replace('\n', ' ');
+        } catch (RuntimeException e) {
+            response = request.id() + "\tERROR\t" + String.valueOf(e.getMessage()).replace('\n', ' ');
+        }
+        complete(request, response);
+    }
+
+    private void fail(Request request, String message) {
+        complete(request, request.id() + "\tERROR\t" + message);
+    }
+
+    private void complete(Request request, String response) {
+        try {
+            request.connection().respond(response);
+        } finally {
+            admission.release();
+            LATENCY.stop(request.startNanos());
+            request.connection().finished();
+        }
+    }
+
+    private record Request(String id, String document, Connection connection, long startNanos) {
+    }
+
+    /**
+     * Response side of one connection. Responses are queued and written by a dedicated virtual
+     * thread, which flushes only when the queue is empty, so one slow client never blocks the
+     * thread that analysed a batch, and a burst of responses costs one flush. Every request
+     * reserves a slot in the queue before it is admitted, and the slot is freed once its
+     * response is written, so the queue never holds more than its capacity.
+     */
+    private static final class Connection {
+        // Queued by close() after the last response; compared by identity.
+        private static final String END = new String("END");
+
+        private final Writer out;
+        private final int capacity;
+        private final Semaphore slots;
+        private final BlockingQueue<String> responses;
+        private final Thread writer;
+        private volatile boolean broken;
+
+        // ReentrantLock does not pin virtual threads.
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition idle = lock.newCondition();
+        private int pending;
+
+        Connection(Writer out, int capacity) {
+            this.out = out;
+            this.capacity = capacity;
+            this.slots = new Semaphore(capacity);
+            // One more for END.
+            this.responses = new ArrayBlockingQueue<>(capacity + 1);
+            this.writer = Thread.ofVirtual().name("textservice-writer").start(this::runWriter);
+        }
+
+        /**
+         * Waits until the queue has room for one more response.
+         *
+         * @return {@code false} if the client went away and the connection should stop reading
+         */
+        boolean reserve() {
+            slots.acquireUninterruptibly();
+            return !broken;
+        }
+
+        void respond(String line) {
+            if (!broken) {
+                responses.add(line);
+            }
+        }
+
+        private void runWriter() {
+            try {
+                while (true) {
+                    String line = responses.take();
+                    if (line == END) {
+                        out.flush();
+                        return;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                    slots.release();
+                    if (responses.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // the client went away; later responses are dropped
+                broken = true;
+                responses.clear();
+                // wakes a reader waiting for a slot, which then sees the connection is broken
+                slots.release(capacity);
+            }
+        }
+
+        /**
+         * Writes the remaining responses and waits for the writer to finish.
+         */
+        void close() {
+            responses.add(END);
+            boolean interrupted = false;
+            while (writer.isAlive()) {
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void started() {
+            lock.lock();
+            try {
+                pending++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void finished() {
+            lock.lock();
+            try {
+                if (--pending == 0) {
+                    idle.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void awaitPending() {
+            lock.lock();
+            try {
+                while (pending > 0) {
+                    idle.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
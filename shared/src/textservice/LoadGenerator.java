@@ -0,0 +1,199 @@
+package textservice;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for {@link AnalysisServer}.
+ * <p>
+ * Sends {@code --requests} documents of {@code --words} random words at a fixed total rate of
+ * {@code --rate} requests per second, spread round-robin over {@code --connections} connections.
+ * The schedule starts once every connection is open: request {@code k} is scheduled at
+ * {@code start + k / rate} and sent then, or as soon as possible if the generator is behind.
+ * Latency is measured from the scheduled time rather than from the actual send, so a stalled
+ * server is charged for the requests it delayed as well (no coordinated omission). Other options: {@code --host} (default localhost) and
+ * {@code --port} (default 7070).
+ */
+public final class LoadGenerator {
+    private static final String LETTERS = "etaoinshrdlcumwfgypbvkjxqz";
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 7070;
+        int connections = 100;
+        int requests = 100_000;
+        int words = 20;
+        int rate = 10_000;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--host" -> host = value;
+                case "--port" -> port = positive(args[i], value);
+                case "--connections" -> connections = positive(args[i], value);
+                case "--requests" -> requests = positive(args[i], value);
+                case "--words" -> words = positive(args[i], value);
+                case "--rate" -> rate = positive(args[i], value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        connections = Math.min(connections, requests);
+
+        long[] latencies = new long[requests];
+        AtomicLong busy = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong maxSendLag = new AtomicLong();
+        CountDownLatch connected = new CountDownLatch(connections);
+        CompletableFuture<Schedule> schedule = new CompletableFuture<>();
+        long start;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                String finalHost = host;
+                int finalPort = port;
+                int finalWords = words;
+                int finalConnections = connections;
+                int finalRequests = requests;
+                int connection = c;
+                executor.execute(() -> {
+                    try {
+                        runConnection(finalHost, finalPort, connection, finalConnections, finalRequests, finalWords,
+                                connected, schedule, latencies, busy, errors, maxSendLag);
+                    } catch (IOException | InterruptedException e) {
+                        System.err.println("Connection failed: " + e);
+                    } finally {
+                        connected.countDown();
+                    }
+                });
+            }
+            connected.await();
+            start = System.nanoTime() + 10_000_000L;
+            schedule.complete(new Schedule(start, 1_000_000_000.0 / rate));
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] sorted = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+        long lost = requests - sorted.length - busy.get() - errors.get();
+        System.out.printf("requests=%d busy=%d errors=%d lost=%d time=%.2fs target=%d req/s throughput=%.0f req/s%n",
+                requests, busy.get(), errors.get(), lost, seconds, rate, requests / seconds);
+        System.out.printf("max send lag=%d us%s%n", maxSendLag.get() / 1000,
+                maxSendLag.get() > 10_000_000 ? " (the generator could not keep up with the rate)" : "");
+        if (sorted.length > 0) {
+            System.out.printf("latency us (from scheduled send): p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    percentile(sorted, 99.9), sorted[sorted.length - 1] / 1000);
+        }
+    }
+
+    // Connection c sends the requests c, c + connections, c + 2 * connections, ...; the request index is its id.
+    private static void runConnection(String host, int port, int connection, int connections, int requests, int words,
+                                      CountDownLatch connected, CompletableFuture<Schedule> start, long[] latencies,
+                                      AtomicLong busy, AtomicLong errors, AtomicLong maxSendLag)
+            throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(connection);
+        int count = (requests - connection + connections - 1) / connections;
+
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            connected.countDown();
+            Schedule schedule = start.join();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            Thread reader = Thread.ofVirtual().start(() -> {
+                try {
+                    for (int received = 0; received < count; received++) {
+                        String line = in.readLine();
+                        if (line == null) {
+                            return;
+                        }
+                        int tab = line.indexOf('\t');
+                        int index = Integer.parseInt(line.substring(0, tab));
+                        if (line.startsWith("BUSY", tab + 1)) {
+                            busy.incrementAndGet();
+                        } else if (line.startsWith("ERROR", tab + 1)) {
+                            errors.incrementAndGet();
+                        } else {
+                            latencies[index] = Math.max(1, System.nanoTime() - schedule.timeOf(index));
+                        }
+                    }
+                } catch (IOException e) {
+                    System.err.println("Read failed: " + e);
+                }
+            });
+
+            for (int index = connection; index < requests; index += connections) {
+                String document = document(random, words);
+                long scheduled = schedule.timeOf(index);
+                long now;
+                while ((now = System.nanoTime()) < scheduled) {
+                    LockSupport.parkNanos(scheduled - now);
+                }
+                maxSendLag.accumulateAndGet(now - scheduled, Math::max);
+                out.write(index + "\t" + document + "\n");
+                out.flush();
+            }
+            reader.join();
+        }
+    }
+
+    private record Schedule(long start, double intervalNanos) {
+        long timeOf(int index) {
+            return start + (long) (index * intervalNanos);
+        }
+    }
+
+    private static int positive(String option, String value) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+        }
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(option + " must be positive: " + value);
+        }
+        return parsed;
+    }
+
+    private static String document(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 7);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            int length = random.nextInt(2, 11);
+            for (int j = 0; j < length; j++) {
+                text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            if (random.nextInt(12) == 0) {
+                text.append('.');
+            }
+        }
+        return text.append('.').toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile / 100) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000;
+    }
+}
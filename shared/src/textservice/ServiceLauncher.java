@@ -0,0 +1,80 @@
+package textservice;
+
+import metrics.MetricsRegistry;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Command-line front end of {@link AnalysisServer} shared by the labs.
+ * <p>
+ * Options: {@code --stdin} to serve standard input instead of a socket, {@code --port <n>}
+ * (default 7070), {@code --max-in-flight <n>}, {@code --admission-timeout-ms <n>},
+ * {@code --batch-threshold <chars>}, {@code --max-batch <n>}, {@code --batch-delay-us <n>} and
+ * {@code --max-queued-responses <n>}.
+ */
+public final class ServiceLauncher {
+
+    private ServiceLauncher() {
+    }
+
+    public static void launch(String name, String[] args, Function<String, String> analyzer) throws IOException {
+        AnalysisServer.Config defaults = AnalysisServer.Config.DEFAULT;
+        boolean stdin = false;
+        int port = 7070;
+        int maxInFlight = defaults.maxInFlight();
+        long admissionTimeout = defaults.admissionTimeoutMillis();
+        int batchThreshold = defaults.batchThreshold();
+        int maxBatch = defaults.maxBatchSize();
+        long batchDelay = defaults.batchDelayMicros();
+        int maxQueuedResponses = defaults.maxQueuedResponses();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--stdin" -> stdin = true;
+                case "--port" -> port = Integer.parseInt(value(args, ++i));
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value(args, ++i));
+                case "--admission-timeout-ms" -> admissionTimeout = Long.parseLong(value(args, ++i));
+                case "--batch-threshold" -> batchThreshold = Integer.parseInt(value(args, ++i));
+                case "--max-batch" -> maxBatch = Integer.parseInt(value(args, ++i));
+                case "--batch-delay-us" -> batchDelay = Long.parseLong(value(args, ++i));
+                case "--max-queued-responses" -> maxQueuedResponses = Integer.parseInt(value(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        AnalysisServer.Config config =
+                new AnalysisServer.Config(maxInFlight, admissionTimeout, batchThreshold, maxBatch, batchDelay,
+                        maxQueuedResponses);
+        try (AnalysisServer server = new AnalysisServer(analyzer, config)) {
+            if (stdin) {
+                server.serve(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                        new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+            } else {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    if (MetricsRegistry.isEnabled()) {
+                        System.err.print(MetricsRegistry.dump());
+                    }
+                }));
+                try (ServerSocket socket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+                    System.err.println(name + " listening on " + socket.getLocalSocketAddress());
+                    server.serve(socket);
+                }
+            }
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,188 @@
+package textservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisServerTest {
+
+    @Test
+    @Timeout(30)
+    void slowClientDoesNotDelayOtherConnections() throws Exception {
+        AnalysisServer.Config config = new AnalysisServer.Config(100_000, 1000, 1024, 64, 200, 100_000);
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             AnalysisServer server = new AnalysisServer(document -> document, config)) {
+            Thread.ofVirtual().start(() -> {
+                try {
+                    server.serve(serverSocket);
+                } catch (IOException e) {
+                    // closed by the test
+                }
+            });
+
+            // This client never reads, so its responses fill the socket buffers and its writer blocks.
+            try (Socket slow = connect(serverSocket); Socket fast = connect(serverSocket)) {
+                Writer slowOut = writer(slow);
+                String document = "a".repeat(1000);
+                for (int i = 0; i < 20_000; i++) {
+                    slowOut.write(i + "\t" + document + "\n");
+                }
+                slowOut.flush();
+
+                Writer fastOut = writer(fast);
+                BufferedReader fastIn = reader(fast);
+                for (int i = 0; i < 10; i++) {
+                    fastOut.write(i + "\tword " + i + "\n");
+                    fastOut.flush();
+                    assertEquals(i + "\tOK\tword " + i, fastIn.readLine());
+                }
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void clientThatNeverReadsIsNotReadFurther() throws Exception {
+        AtomicInteger analysed = new AtomicInteger();
+        String response = "r".repeat(64 * 1024);
+        // Few admission permits, so a client that kept them would lock everyone else out.
+        AnalysisServer.Config config = new AnalysisServer.Config(8, 1000, 1024, 64, 200, 16);
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             AnalysisServer server = new AnalysisServer(document -> {
+                 analysed.incrementAndGet();
+                 // Large responses fill the socket buffers after a few dozen.
+                 return document.startsWith("word") ? document : response;
+             }, config)) {
+            Thread.ofVirtual().start(() -> {
+                try {
+                    server.serve(serverSocket);
+                } catch (IOException e) {
+                    // closed by the test
+                }
+            });
+
+            try (Socket silent = connect(serverSocket); Socket fast = connect(serverSocket)) {
+                Thread sender = Thread.ofVirtual().start(() -> {
+                    try {
+                        Writer out = writer(silent);
+                        String document = "a".repeat(1000);
+                        for (int i = 0; i < 20_000; i++) {
+                            out.write(i + "\t" + document + "\n");
+                        }
+                        out.flush();
+                    } catch (IOException e) {
+                        // the connection is closed at the end of the test
+                    }
+                });
+
+                // Once the connection has 16 unwritten responses the server stops reading it.
+                int settled;
+                do {
+                    settled = analysed.get();
+                    Thread.sleep(500);
+                } while (analysed.get() != settled);
+                assertTrue(settled < 1000, "analysed " + settled + " documents of a client that never reads");
+                assertTrue(sender.isAlive(), "the server kept reading a client that never reads");
+
+                Writer fastOut = writer(fast);
+                BufferedReader fastIn = reader(fast);
+                for (int i = 0; i < 10; i++) {
+                    fastOut.write(i + "\tword " + i + "\n");
+                    fastOut.flush();
+                    assertEquals(i + "\tOK\tword " + i, fastIn.readLine());
+                }
+            }
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void closeAnswersQueuedDocumentsAndClosesConnections() throws Exception {
+        CountDownLatch analysing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // One document per batch, and the first batch blocks, so the others wait in the queue.
+        AnalysisServer.Config config = new AnalysisServer.Config(1000, 1000, 1024, 1, 0, 1000);
+        ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        AnalysisServer server = new AnalysisServer(document -> {
+            analysing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return document;
+        }, config);
+        Thread.ofVirtual().start(() -> {
+            try {
+                server.serve(serverSocket);
+            } catch (IOException e) {
+                // closed below
+            }
+        });
+
+        try (Socket client = connect(serverSocket)) {
+            Writer out = writer(client);
+            for (int i = 0; i < 100; i++) {
+                out.write(i + "\tword\n");
+            }
+            out.flush();
+            assertTrue(analysing.await(10, TimeUnit.SECONDS));
+            // Gives the server time to read the remaining requests before input is shut down.
+            Thread.sleep(300);
+
+            Thread closer = Thread.ofVirtual().start(() -> {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Thread.sleep(200);
+            release.countDown();
+            closer.join();
+
+            // Every request read by the server is answered exactly once, and then the connection is closed.
+            BufferedReader in = reader(client);
+            Set<String> ids = new HashSet<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split("\t");
+                assertTrue(parts[1].equals("OK") || parts[1].equals("ERROR"), line);
+                assertTrue(ids.add(parts[0]), "answered twice: " + line);
+            }
+            assertEquals(100, ids.size());
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    private static Socket connect(ServerSocket serverSocket) throws IOException {
+        return new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+    }
+
+    private static Writer writer(Socket socket) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+}